@@ -0,0 +1,198 @@
+package io.turbine.core.benchmarks;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares JMH results (JSON result format) to a stored baseline, and fails
+ * if any benchmark regressed beyond the tolerance.
+ *
+ * The baseline is a JSON object mapping each benchmark (with its parameters,
+ * e.g. "io.turbine.core.json.JsonFormatBenchmark.printMap:size=10") to its
+ * score, mode and unit, and to its relative score : its time per operation divided
+ * by the one of the ReferenceBenchmark measured in the same run. The relative scores
+ * are compared, so that the check does not depend on the speed of the machine.
+ * If the results or the baseline lack the reference benchmark, the absolute scores
+ * are compared instead, which is only meaningful on the machine that recorded the baseline.
+ * Benchmarks absent from the baseline are reported but never fail the check, while the
+ * benchmarks of the baseline absent from the results (failed, renamed or deleted) fail it :
+ * the baseline must be refreshed when benchmarks are removed, and the whole suite must run.
+ *
+ * Usage : BaselineCheck baseline.json results.json [tolerance] [--update]
+ * With --update (or true), the baseline file is rewritten from the results. To refresh the
+ * baseline, after a deliberate performance change or a change of the reference benchmark, run
+ * "mvn -Pbenchmarks verify -Dbenchmark.update=true" and commit the baseline file.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class BaselineCheck {
+
+    /**
+     * The default relative tolerance (20%)
+     */
+    private static final double DEFAULT_TOLERANCE = 0.20;
+
+    private BaselineCheck() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : BaselineCheck <baseline.json> <results.json> [tolerance] [--update]");
+            System.exit(2);
+        }
+
+        final Path baselinePath = Paths.get(args[0]);
+        final JsonObject results = readResults(Paths.get(args[1]));
+        final double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+
+        if (args.length > 3 && ("--update".equals(args[3]) || "true".equals(args[3]))) {
+            Files.write(baselinePath, results.encodePrettily().getBytes(StandardCharsets.UTF_8));
+            System.out.println("Baseline " + baselinePath + " updated with " + results.size() + " benchmark(s).");
+            return;
+        }
+
+        final JsonObject baseline = Files.exists(baselinePath) ?
+                new JsonObject(new String(Files.readAllBytes(baselinePath), StandardCharsets.UTF_8)) :
+                new JsonObject();
+
+        final boolean relative = results.containsKey(ReferenceBenchmark.NAME) &&
+                baseline.containsKey(ReferenceBenchmark.NAME);
+        if (!relative) {
+            System.out.println("[WARN] The reference benchmark is missing from the results or the baseline : " +
+                    "comparing absolute scores, which depend on the machine.");
+        }
+
+        final List<String> regressions = new ArrayList<>();
+        for (String name : results.fieldNames()) {
+            final JsonObject result = results.getJsonObject(name);
+            final JsonObject reference = baseline.getJsonObject(name);
+
+            if (reference == null) {
+                System.out.println("[NEW]  " + name + " : " + describe(result));
+                continue;
+            }
+            if (name.equals(ReferenceBenchmark.NAME)) {
+                System.out.println("[REF]  " + name + " : " + describe(result) +
+                        " (baseline " + describe(reference) + ")");
+                continue;
+            }
+
+            final double delta = relative ?
+                    result.getDouble("relative") / reference.getDouble("relative") - 1 :
+                    relativeDelta(result, reference);
+            final String line = String.format("%s : %s (baseline %s, %+.1f%%)",
+                    name, describe(result), describe(reference), delta * 100);
+
+            if (delta > tolerance) {
+                regressions.add(line);
+                System.out.println("[SLOW] " + line);
+            } else {
+                System.out.println("[OK]   " + line);
+            }
+        }
+
+        final List<String> missing = new ArrayList<>();
+        for (String name : baseline.fieldNames()) {
+            if (!results.containsKey(name)) {
+                missing.add(name);
+                System.out.println("[MISS] " + name + " : no result (baseline " +
+                        describe(baseline.getJsonObject(name)) + ")");
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.err.println(regressions.size() + " benchmark(s) regressed beyond the " +
+                    (tolerance * 100) + "% tolerance.");
+        }
+        if (!missing.isEmpty()) {
+            System.err.println(missing.size() + " benchmark(s) of the baseline have no result.");
+        }
+        if (!regressions.isEmpty() || !missing.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Read the JMH results file and index the scores by benchmark name and parameters.
+     * The relative scores are added when the results include the reference benchmark.
+     */
+    private static JsonObject readResults(Path path) throws IOException {
+        final JsonArray runs = new JsonArray(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        final JsonObject results = new JsonObject();
+
+        for (int i = 0; i < runs.size(); i++) {
+            final JsonObject run = runs.getJsonObject(i);
+            final JsonObject metric = run.getJsonObject("primaryMetric");
+
+            final StringBuilder name = new StringBuilder(run.getString("benchmark"));
+            final JsonObject params = run.getJsonObject("params");
+            if (params != null) {
+                params.fieldNames().stream().sorted()
+                        .forEach(key -> name.append(':').append(key).append('=').append(params.getValue(key)));
+            }
+
+            results.put(name.toString(), new JsonObject()
+                    .put("mode", run.getString("mode"))
+                    .put("score", metric.getDouble("score"))
+                    .put("unit", metric.getString("scoreUnit")));
+        }
+
+        final JsonObject reference = results.getJsonObject(ReferenceBenchmark.NAME);
+        if (reference != null) {
+            final double referenceNanos = nanosPerOperation(reference);
+            for (String name : results.fieldNames()) {
+                final JsonObject result = results.getJsonObject(name);
+                result.put("relative", nanosPerOperation(result) / referenceNanos);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Convert a score to a time per operation, whatever the benchmark mode and unit.
+     */
+    private static double nanosPerOperation(JsonObject result) {
+        final String unit = result.getString("unit");
+        final double score = result.getDouble("score");
+        if (unit.startsWith("ops/")) {
+            return nanos(unit.substring(4)) / score;
+        }
+        return score * nanos(unit.substring(0, unit.indexOf('/')));
+    }
+
+    private static double nanos(String unit) {
+        switch (unit) {
+            case "ns": return 1;
+            case "us": return 1e3;
+            case "ms": return 1e6;
+            case "s": return 1e9;
+            case "min": return 60e9;
+            default: throw new IllegalArgumentException("Unknown time unit " + unit);
+        }
+    }
+
+    /**
+     * Compute the relative slowdown of a result compared to its reference :
+     * positive values are regressions, whatever the benchmark mode.
+     */
+    private static double relativeDelta(JsonObject result, JsonObject reference) {
+        final double score = result.getDouble("score");
+        final double expected = reference.getDouble("score");
+        final double delta = (score - expected) / expected;
+        // In throughput mode, a higher score is better
+        return "thrpt".equals(result.getString("mode")) ? -delta : delta;
+    }
+
+    private static String describe(JsonObject result) {
+        final String score = String.format("%.3f %s", result.getDouble("score"), result.getString("unit"));
+        return result.containsKey("relative") ?
+                score + String.format(" = %.3g x reference", result.getDouble("relative")) : score;
+    }
+}
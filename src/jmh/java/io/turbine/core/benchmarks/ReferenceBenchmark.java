@@ -0,0 +1,59 @@
+package io.turbine.core.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed workload, that does not depend on the code of the framework : the scores of
+ * the other benchmarks are compared to its score measured in the same run, so that the
+ * baseline check does not depend on the speed of the machine running it.
+ *
+ * It must never be changed without refreshing the baseline.
+ *
+ * @see BaselineCheck
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceBenchmark {
+
+    /**
+     * The name of the reference benchmark in the results
+     */
+    static final String NAME = ReferenceBenchmark.class.getName() + ".reference";
+
+    private int[] values;
+
+    private StringBuilder text;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        values = new int[4096];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+        }
+        text = new StringBuilder();
+        for (int i = 0; i < 256; i++) {
+            text.append("key").append(i).append('=').append(random.nextInt(1000)).append('&');
+        }
+    }
+
+    /**
+     * Sorting and hashing, a mix of the memory accesses, branches and allocations
+     * the framework benchmarks are made of.
+     */
+    @Benchmark
+    public int reference() {
+        final int[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+        return Arrays.hashCode(sorted) + text.toString().hashCode();
+    }
+}
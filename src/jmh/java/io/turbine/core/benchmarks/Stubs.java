@@ -0,0 +1,57 @@
+package io.turbine.core.benchmarks;
+
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.ext.web.RoutingContext;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Socket-free stubs of the Vert.x Web objects used by the request pipeline benchmarks.
+ * Only the methods read while binding a request are answered, any other call
+ * returns null.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class Stubs {
+
+    private Stubs() {}
+
+    /**
+     * Create a RoutingContext stub.
+     * @param pathParams The route parameters
+     * @param query The raw query string
+     * @param headers The request headers
+     * @param body The request JSON body
+     * @return A RoutingContext instance
+     */
+    public static RoutingContext routingContext(Map<String, String> pathParams, String query,
+                                                Map<String, String> headers, JsonObject body) {
+        final HttpServerRequest request = (HttpServerRequest) Proxy.newProxyInstance(
+                Stubs.class.getClassLoader(),
+                new Class<?>[] { HttpServerRequest.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "query": return query;
+                        case "getHeader": return headers.get(args[0].toString());
+                        default: return null;
+                    }
+                });
+
+        final io.vertx.ext.web.RoutingContext context = (io.vertx.ext.web.RoutingContext) Proxy.newProxyInstance(
+                Stubs.class.getClassLoader(),
+                new Class<?>[] { io.vertx.ext.web.RoutingContext.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "request": return request;
+                        case "pathParam": return pathParams.get((String) args[0]);
+                        case "pathParams": return pathParams;
+                        case "getBodyAsJson": return body.copy();
+                        default: return null;
+                    }
+                });
+
+        return RoutingContext.newInstance(context);
+    }
+}
@@ -0,0 +1,112 @@
+package io.turbine.core.json;
+
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the JSON response printing.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonFormatBenchmark {
+
+    public static class Item {
+        public long id;
+        public String name;
+        public double price;
+        public List<String> tags;
+
+        Item(long id) {
+            this.id = id;
+            this.name = "Item #" + id;
+            this.price = id * 1.5;
+            this.tags = new ArrayList<>();
+            tags.add("tag-" + (id % 7));
+            tags.add("tag-" + (id % 13));
+        }
+    }
+
+    public static class SerializableItem extends Item implements JsonSerializable {
+        SerializableItem(long id) {
+            super(id);
+        }
+
+        @Override
+        public JsonObject toJson() {
+            return new JsonObject()
+                    .put("id", id)
+                    .put("name", name)
+                    .put("price", price)
+                    .put("tags", tags);
+        }
+    }
+
+    @Param({ "10", "1000" })
+    public int size;
+
+    private List<Item> pojos;
+
+    private List<SerializableItem> serializables;
+
+    private Map<Long, Item> map;
+
+    private JsonObject json;
+
+    @Setup
+    public void setUp() {
+        pojos = new ArrayList<>(size);
+        serializables = new ArrayList<>(size);
+        map = new LinkedHashMap<>();
+        for (long i = 0; i < size; i++) {
+            pojos.add(new Item(i));
+            serializables.add(new SerializableItem(i));
+            map.put(i, new Item(i));
+        }
+        json = new JsonObject().put("items", serializables.stream()
+                .map(SerializableItem::toJson)
+                .collect(JsonFormat.jsonArrayCollector()));
+    }
+
+    @Benchmark
+    public Object printPojoList() {
+        return JsonFormat.printJson(pojos);
+    }
+
+    @Benchmark
+    public Object writePojoListCompact() {
+        return JsonFormat.writeJson(pojos, false);
+    }
+
+    @Benchmark
+    public Object printSerializableList() {
+        return JsonFormat.printJson(serializables);
+    }
+
+    @Benchmark
+    public Object printMap() {
+        return JsonFormat.printJson(map);
+    }
+
+    @Benchmark
+    public Object printJsonObject() {
+        return JsonFormat.printJson(json);
+    }
+
+    @Benchmark
+    public Object printInstant() {
+        return JsonFormat.printJson(Instant.EPOCH);
+    }
+}
@@ -0,0 +1,36 @@
+package io.turbine.core.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.turbine.core.utils.Utils.Web.parseQueryString;
+
+/**
+ * Benchmarks of the query string parsing.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryStringBenchmark {
+
+    private static final String SHORT_QUERY = "name=Steven&age=35";
+
+    private static final String LONG_QUERY = "?q=turbine&page=3&size=50&sort=name&order=asc" +
+            "&tags[]=java&tags[]=vertx&tags[]=rx&from=2018-01-01&to=2018-12-31&ratio=0.75&active=true";
+
+    @Benchmark
+    public Object parseShort() {
+        return parseQueryString(SHORT_QUERY);
+    }
+
+    @Benchmark
+    public Object parseLong() {
+        return parseQueryString(LONG_QUERY);
+    }
+}
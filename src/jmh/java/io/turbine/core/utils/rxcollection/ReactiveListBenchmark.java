@@ -0,0 +1,79 @@
+package io.turbine.core.utils.rxcollection;
+
+import io.reactivex.disposables.CompositeDisposable;
+import io.turbine.core.utils.rxcollection.impl.ReactiveListImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the reactive list operations, with subscribed observers.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReactiveListBenchmark {
+
+    @Param({ "100", "5000" })
+    public int size;
+
+    private ReactiveList<Integer> list;
+
+    private List<Integer> batch;
+
+    private CompositeDisposable subscriptions;
+
+    @Setup(Level.Invocation)
+    public void setUp(Blackhole blackhole) {
+        list = new ReactiveListImpl<>();
+        for (int i = 0; i < size; i++)
+            list.add(i);
+
+        batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            batch.add(-i);
+
+        subscriptions = new CompositeDisposable(
+                list.additions().subscribe(blackhole::consume),
+                list.deletions().subscribe(blackhole::consume),
+                list.modifications().subscribe(blackhole::consume));
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        subscriptions.dispose();
+    }
+
+    @Benchmark
+    public Object add() {
+        return list.add(-1);
+    }
+
+    @Benchmark
+    public Object addAll() {
+        return list.addAll(batch);
+    }
+
+    @Benchmark
+    public Object removeFirst() {
+        return list.remove(0);
+    }
+
+    @Benchmark
+    public Object set() {
+        return list.set(size / 2, -1);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        list.forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,101 @@
+package io.turbine.core.verticles;
+
+import io.reactivex.Single;
+import io.turbine.core.web.mapping.RequestHandling;
+import io.turbine.core.web.mapping.annotations.QueryString;
+import io.turbine.core.web.mapping.annotations.RouteParam;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An in-JVM round-trip benchmark of a sample Web verticle : the client and the server
+ * run in the same Vert.x instance, exchanging over the loopback interface.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpRoundTripBenchmark {
+
+    public static class SampleWebVerticle extends BaseWebVerticle {
+
+        private final List<JsonObject> items = new ArrayList<>();
+
+        public SampleWebVerticle() {
+            for (int i = 0; i < 100; i++) {
+                items.add(new JsonObject().put("id", i).put("name", "Item #" + i));
+            }
+        }
+
+        @RequestHandling(path = "/items")
+        public Single<List<JsonObject>> list(RoutingContext rc, @QueryString("size") Integer size) {
+            return Single.just(items.subList(0, size != null ? size : items.size()));
+        }
+
+        @RequestHandling(path = "/items/:id")
+        public Single<JsonObject> get(RoutingContext rc, @RouteParam("id") Integer id) {
+            return Single.just(items.get(id));
+        }
+    }
+
+    private Vertx vertx;
+
+    private HttpClient client;
+
+    @Setup
+    public void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        final SampleWebVerticle verticle = new SampleWebVerticle();
+        CompletableFuture<String> deployed = new CompletableFuture<>();
+        /* Listen on an ephemeral port, so that the benchmark never conflicts with another server */
+        vertx.deployVerticle(verticle,
+                new DeploymentOptions().setConfig(new JsonObject().put("port", 0)),
+                async -> {
+                    if (async.succeeded()) deployed.complete(async.result());
+                    else deployed.completeExceptionally(async.cause());
+                });
+        deployed.get(10, TimeUnit.SECONDS);
+        client = vertx.createHttpClient(new HttpClientOptions()
+                .setDefaultHost("localhost")
+                .setDefaultPort(verticle.httpServer().actualPort())
+                .setKeepAlive(true));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        client.close();
+        vertx.close(v -> closed.complete(null));
+        closed.get(10, TimeUnit.SECONDS);
+    }
+
+    private int roundTrip(String uri) throws Exception {
+        CompletableFuture<Integer> body = new CompletableFuture<>();
+        client.getNow(uri, response -> response.bodyHandler(buffer -> body.complete(buffer.length())));
+        return body.get(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public int getOne() throws Exception {
+        return roundTrip("/items/42");
+    }
+
+    @Benchmark
+    public int getList() throws Exception {
+        return roundTrip("/items?size=100");
+    }
+}
@@ -0,0 +1,71 @@
+package io.turbine.core.web.mapping;
+
+import io.reactivex.Single;
+import io.turbine.core.benchmarks.Stubs;
+import io.turbine.core.web.mapping.annotations.Bearer;
+import io.turbine.core.web.mapping.annotations.QueryString;
+import io.turbine.core.web.mapping.annotations.RequestBody;
+import io.turbine.core.web.mapping.annotations.RouteParam;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the binding of a request to a request handling method.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBindingBenchmark {
+
+    public static class Handlers {
+        @RequestHandling(path = "/users/:id")
+        public Single<String> handle(RoutingContext rc,
+                                     @RouteParam("id") Integer id,
+                                     @QueryString("page") Integer page,
+                                     @QueryString("size") Integer size,
+                                     @RequestBody("name") String name,
+                                     @Bearer String token) {
+            return Single.just(name);
+        }
+    }
+
+    private MethodBinding binding;
+
+    private RoutingContext rc;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        Method method = Handlers.class.getMethod("handle", RoutingContext.class,
+                Integer.class, Integer.class, Integer.class, String.class, String.class);
+        binding = RequestHandlingHelper.compile(new Handlers(), method);
+
+        Map<String, String> pathParams = new HashMap<>();
+        pathParams.put("id", "42");
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Authorization", "Bearer abcdef0123456789");
+
+        rc = Stubs.routingContext(pathParams, "page=3&size=50", headers,
+                new JsonObject().put("name", "Steven"));
+    }
+
+    @Benchmark
+    public Object bind() {
+        return binding.bind(rc);
+    }
+
+    @Benchmark
+    public Object bindAndInvoke() throws Throwable {
+        return binding.invoke(rc);
+    }
+}
@@ -17,7 +17,7 @@ public abstract class Turbine {
      * @param args The application CLI arguments
      * @param classes The verticles classes' to deploy
      */
-    public static void runApplication(String[] args, Class<?>... classes) {
+    public static synchronized void runApplication(String[] args, Class<?>... classes) {
         if (deployer == null) {
             deployer = VerticleDeployer.getDeployer(args);
         }
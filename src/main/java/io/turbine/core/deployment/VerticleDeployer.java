@@ -1,7 +1,9 @@
 package io.turbine.core.deployment;
 
+import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.turbine.core.configuration.Dispatcher;
+import io.turbine.core.deployment.annotations.Instances;
 import io.turbine.core.errors.exceptions.verticles.ConfigurationException;
 import io.turbine.core.verticles.behaviors.Verticle;
 import io.vertx.core.DeploymentOptions;
@@ -15,10 +17,14 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import static io.turbine.core.deployment.VerticleFactory.factory;
 import static io.turbine.core.utils.Utils.fromInputStream;
 import static io.turbine.core.utils.Utils.orElse;
+import static java.util.Collections.unmodifiableList;
 
 /**
  * A singleton class to deploy verticles.
@@ -39,6 +45,11 @@ public final class VerticleDeployer {
      */
     private static final String DEFAULT_CONFIG_PATH = "configuration.json";
 
+    /**
+     * The configuration key of the number of verticle copies to deploy
+     */
+    private static final String INSTANCES_KEY = "instances";
+
     /**
      * The logger
      */
@@ -64,7 +75,7 @@ public final class VerticleDeployer {
      * @param args The arguments given to the application
      * @return The unique VerticleDeployer instance
      */
-    static VerticleDeployer getDeployer(String[] args) {
+    static synchronized VerticleDeployer getDeployer(String[] args) {
         if (instance == null) {
             instance = new VerticleDeployer(args);
         }
@@ -129,51 +140,126 @@ public final class VerticleDeployer {
     /**
      * Deploy a verticle from its class, with given configuration.
      * Verticle is instanciated from the given verticle factory.
+     * If several instances are configured, only the first one is emitted.
      * @param factory The factory used to create the Verticle instance
      * @param config The verticle base configuration
      * @param <V> The type of the Verticle
      * @return A single of freshly-deployed Verticle instance
+     * @see VerticleDeployer#deployInstances(VerticleFactory, JsonObject)
      */
     public final <V extends Verticle>
     Single<V> deployVerticle(VerticleFactory<V> factory, JsonObject config) {
-        V verticle;
+        return deployInstances(factory, config).map(verticles -> verticles.get(0));
+    }
+
+    /**
+     * Deploy one or several copies of a verticle, with given configuration.
+     * Each copy is a fresh instance created by the given factory, and runs on its own
+     * event loop. The number of copies is read from the "instances" property of the
+     * verticle configuration, or else from the {@link Instances} annotation of its class.
+     * @param factory The factory used to create the Verticle instances
+     * @param config The verticle base configuration
+     * @param <V> The type of the Verticle
+     * @return A single of the list of the freshly-deployed Verticle instances
+     */
+    public final <V extends Verticle>
+    Single<List<V>> deployInstances(VerticleFactory<V> factory, JsonObject config) {
+        final List<V> verticles = new ArrayList<>();
         try {
-            verticle = factory.create();
+            verticles.add(factory.create());
         } catch (Exception ex) {
-            // The factory could not instanciate a correct verticle instance
-            Throwable t = new RuntimeException("The factory " + factory +
-                    " failed to instanciate a verticle.", ex);
-            return Single.error(t);
+            return Single.error(factoryFailure(factory, ex));
         }
+        final Class<?> verticleClass = verticles.get(0).getClass();
 
         config = orElse(config, new JsonObject());
 
         try {
             // Dispatch the verticle configuration according to its class
             // and merging it with additionnal configuration
-            config = dispatcher.dispatch(readConfiguration(), verticle.getClass())
+            config = dispatcher.dispatch(readConfiguration(), verticleClass)
                     .mergeIn(config);
         } catch (ConfigurationException ex) {
             logger.warn("Error reading configuration", ex);
         }
 
+        final int instances = instancesOf(verticleClass, config);
+        if (instances < 1) {
+            return Single.error(new IllegalArgumentException(
+                    "Cannot deploy " + instances + " instances of verticle " + verticleClass.getName()));
+        }
+
+        // Vert.x requires a distinct verticle instance for each copy
+        try {
+            while (verticles.size() < instances) {
+                final V verticle = factory.create();
+                if (verticles.contains(verticle)) {
+                    throw new IllegalStateException("The factory must create a new instance on each call.");
+                }
+                verticles.add(verticle);
+            }
+        } catch (Exception ex) {
+            return Single.error(factoryFailure(factory, ex));
+        }
+
+        if (instances > 1) {
+            logger.info("Deploying {} instances of verticle {}", instances, verticleClass.getName());
+        }
+
         DeploymentOptions options = new DeploymentOptions();
         options.setConfig(config);
+        options.setInstances(instances);
 
         // Create the single from the Vert.x deployment result
         return Single.create(emitter ->
-            vertx.deployVerticle(() -> verticle, options, async -> {
+            vertx.deployVerticle(verticles.iterator()::next, options, async -> {
                 if (async.failed()) {
                     // raising the error cause
                     emitter.onError(async.cause());
                 } else {
-                    // emitting the freshly-deployed verticle
-                    emitter.onSuccess(verticle);
+                    // emitting the freshly-deployed verticles
+                    emitter.onSuccess(unmodifiableList(verticles));
+                }
+            }
+        ));
+    }
+
+    /**
+     * Undeploy a verticle, and all the children verticles it has deployed.
+     * @param deploymentID The deployment identifier of the verticle
+     * @return A completable completed once the verticle is undeployed
+     */
+    public final Completable undeployVerticle(String deploymentID) {
+        return Completable.create(emitter ->
+            vertx.undeploy(deploymentID, async -> {
+                if (async.failed()) {
+                    emitter.onError(async.cause());
+                } else {
+                    emitter.onComplete();
                 }
             }
         ));
     }
 
+    /**
+     * Resolve the number of copies to deploy for a verticle.
+     * @param verticleClass The class of the verticle
+     * @param config The verticle configuration
+     * @return The "instances" configuration property if present, the value of the
+     *  {@link Instances} annotation otherwise, or 1 by default
+     */
+    static int instancesOf(Class<?> verticleClass, JsonObject config) {
+        final Instances annotation = verticleClass.getAnnotation(Instances.class);
+        final int defaultInstances = (annotation != null) ? annotation.value() : 1;
+        return config.getInteger(INSTANCES_KEY, defaultInstances);
+    }
+
+    private static Throwable factoryFailure(VerticleFactory<?> factory, Exception ex) {
+        // The factory could not instanciate a correct verticle instance
+        return new RuntimeException("The factory " + factory +
+                " failed to instanciate a verticle.", ex);
+    }
+
     /**
      * Try to read the configuration from the specified configuration file.
      * @return A JsonObject containing the read configuration
@@ -0,0 +1,26 @@
+package io.turbine.core.deployment.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines the default number of copies of a verticle to deploy.
+ *
+ * Each copy is a distinct verticle instance bound to its own event loop, so that
+ * a verticle serving HTTP requests can use several cores : the copies share the
+ * listening port and Vert.x balances the incoming connections between them.
+ * The "instances" property of the verticle configuration takes precedence over
+ * this annotation.
+ *
+ * @see io.turbine.core.deployment.VerticleDeployer
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Target(ElementType.TYPE)
+public @interface Instances {
+    int value() default 1;
+}
@@ -5,10 +5,12 @@ import io.turbine.core.json.JsonSerializable;
 import io.vertx.core.json.JsonObject;
 
 import java.time.Instant;
+import java.util.Map;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.valueOf;
 import static io.turbine.core.json.JsonFormat.Builder.create;
 import static io.turbine.core.utils.Utils.orElse;
+import static java.util.Collections.emptyMap;
 
 /**
  * The base exception for representing a HTTP error that can be sended back to the client.
@@ -30,6 +32,14 @@ public abstract class HttpException extends RuntimeException implements JsonSeri
      */
     public abstract int statusCode();
 
+    /**
+     * The additional headers of the HTTP response reporting this exception.
+     * @return The headers values, by name
+     */
+    public Map<String, String> headers() {
+        return emptyMap();
+    }
+
     /**
      * The instant of the exception creation.
      */
@@ -0,0 +1,62 @@
+package io.turbine.core.errors.exceptions.http;
+
+import java.util.Map;
+
+import static io.turbine.core.web.HttpConstants.ResponseHeaders.RETRY_AFTER;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+
+/**
+ * This exception represents the 503 - 'Service Unavailable' HTTP Error,
+ * raised when the server is too busy to handle the request.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public class ServiceUnavailableException extends HttpException {
+
+    /**
+     * The constant holding the exception defaut message
+     */
+    private static final String DEFAULT_MESSAGE = "The service is temporarily overloaded, please retry later.";
+
+    /**
+     * The delay suggested to the client before retrying, in seconds (0 if none)
+     */
+    private final int retryAfter;
+
+    public ServiceUnavailableException() {
+        this(DEFAULT_MESSAGE);
+    }
+
+    public ServiceUnavailableException(String message) {
+        this(message, 0);
+    }
+
+    public ServiceUnavailableException(String message, int retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Gets the delay suggested to the client before retrying.
+     * @return The delay in seconds, or 0 if none
+     */
+    public int getRetryAfter() {
+        return retryAfter;
+    }
+
+    @Override
+    public Map<String, String> headers() {
+        return (retryAfter > 0) ? singletonMap(RETRY_AFTER, String.valueOf(retryAfter)) : emptyMap();
+    }
+
+    @Override
+    protected String defaultMessage() {
+        return DEFAULT_MESSAGE;
+    }
+
+    @Override
+    public final int statusCode() {
+        return 503;
+    }
+}
@@ -0,0 +1,213 @@
+package io.turbine.core.jdbc.cache;
+
+import io.reactivex.Single;
+import io.turbine.core.jdbc.results.ManyResults;
+import io.turbine.core.jdbc.results.Results;
+import io.turbine.core.jdbc.results.SingleResult;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.sql.ResultSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A read-through cache of query results, keyed by SQL text and parameters.
+ *
+ * Entries expire after a time-to-live, and the least recently used ones are evicted
+ * when the cache is full. Each entry remembers the tables its query reads, so that an
+ * update of a table invalidates all the results read from it.
+ * Concurrent lookups of the same missing entry are coalesced : the query is executed once
+ * and its results are shared by all the subscribers.
+ * Each subscriber receives its own copy of the cached rows, so that a caller altering
+ * its results does not alter those served to the others.
+ *
+ * The cache only sees the invalidations of its owner : the data verticles propagate theirs
+ * to the other instances reading the same database (see BaseDataVerticle).
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class ResultCache {
+
+    /**
+     * Matches the tables read by a query
+     */
+    private static final Pattern READ_TABLES = Pattern.compile(
+            "\\b(?:FROM|JOIN)\\s+([`\"\\w.]+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Matches the table written by an update statement
+     */
+    private static final Pattern WRITTEN_TABLE = Pattern.compile(
+            "^\\s*(?:INSERT\\s+(?:IGNORE\\s+)?INTO|REPLACE\\s+INTO|UPDATE(?:\\s+IGNORE)?|DELETE\\s+FROM)\\s+([`\"\\w.]+)",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * A cached query result
+     */
+    private static final class CachedResults {
+        private final Set<String> tables;
+        private final long expiresAt;
+        private Single<Results> value;
+
+        private CachedResults(Set<String> tables, long expiresAt) {
+            this.tables = tables;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * The cached entries, in access order
+     */
+    private final Map<String, CachedResults> entries;
+
+    private final long ttlNanos;
+
+    /**
+     * The time source, in nanoseconds
+     */
+    private final LongSupplier clock;
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    public ResultCache(int maxSize, long ttl, TimeUnit unit) {
+        this(maxSize, ttl, unit, System::nanoTime);
+    }
+
+    ResultCache(final int maxSize, long ttl, TimeUnit unit, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The result cache size must be positive.");
+        }
+        this.ttlNanos = unit.toNanos(ttl);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, CachedResults>(maxSize * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResults> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the results of a query from the cache, or load them if they are not cached
+     * or expired. A failed load is not cached.
+     * @param sql The SQL of the query
+     * @param params The parameters of the query
+     * @param loader Supplies the Single that executes the query
+     * @return A Single that emits a copy of the query results
+     */
+    public synchronized Single<Results> get(String sql, JsonArray params, Supplier<Single<Results>> loader) {
+        final String key = sql + '\u0000' + params.encode();
+        final long now = clock.getAsLong();
+
+        final CachedResults cached = entries.get(key);
+        if (cached != null && now - cached.expiresAt < 0) {
+            hits++;
+            return cached.value.map(ResultCache::copyOf);
+        }
+
+        misses++;
+        final CachedResults entry = new CachedResults(tablesReadBy(sql), now + ttlNanos);
+        entry.value = loader.get()
+                .doOnError(error -> remove(key, entry))
+                .cache();
+        entries.put(key, entry);
+        return entry.value.map(ResultCache::copyOf);
+    }
+
+    /**
+     * Copy cached results, with their rows values.
+     * @param results The cached results
+     * @return Results of the same kind, that do not share any row with the cached ones
+     */
+    private static Results copyOf(Results results) {
+        final List<JsonArray> rows = new ArrayList<>(results.count());
+        for (JsonArray row : results.toRows()) {
+            rows.add(row.copy());
+        }
+        final ResultSet resultSet = new ResultSet(results.columns().names(), rows, null);
+        return (results instanceof SingleResult) ? new SingleResult(resultSet) : new ManyResults(resultSet);
+    }
+
+    /**
+     * Invalidate the results read from the table written by an update statement.
+     * If the written table cannot be told from the statement, all the results are invalidated.
+     * @param sql The SQL of the update statement
+     */
+    public synchronized void invalidate(String sql) {
+        final Matcher matcher = WRITTEN_TABLE.matcher(sql);
+        if (!matcher.find()) {
+            entries.clear();
+            return;
+        }
+        final String table = normalize(matcher.group(1));
+        final Iterator<CachedResults> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().tables.contains(table)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Invalidate all the cached results.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * The ratio of the lookups that found cached results.
+     * @return The hit ratio, between 0 and 1 (0 if the cache has never been used)
+     */
+    public synchronized double hitRatio() {
+        long lookups = hits + misses;
+        return (lookups == 0) ? 0 : (double) hits / lookups;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void remove(String key, CachedResults entry) {
+        entries.remove(key, entry);
+    }
+
+    private static Set<String> tablesReadBy(String sql) {
+        final Matcher matcher = READ_TABLES.matcher(sql);
+        final Set<String> tables = new HashSet<>();
+        while (matcher.find()) {
+            tables.add(normalize(matcher.group(1)));
+        }
+        return Collections.unmodifiableSet(tables);
+    }
+
+    /**
+     * Normalize a table name : without quotes, schema nor case.
+     */
+    private static String normalize(String table) {
+        final String name = table.replace("`", "").replace("\"", "");
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,184 @@
+package io.turbine.core.jdbc.pool;
+
+import com.mchange.v2.c3p0.AbstractComboPooledDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grows or shrinks the maximum size of a JDBC pool according to the time spent
+ * waiting for connections.
+ *
+ * On each tick, the pool is under pressure if the 95th percentile of the recent checkout
+ * latencies exceeds the target wait time (or if requests are still waiting), and has slack
+ * if the checkouts were immediate and enough connections stayed idle. The pool grows by one
+ * step after two ticks under pressure in a row, and shrinks by one step after three ticks with
+ * slack in a row, so that a single burst does not resize it.
+ * After a change, the sizer waits for a cooldown of two ticks : c3p0 applies the new size
+ * by a soft reset of the pool, replacing its connections as they are returned.
+ *
+ * There is one sizer per pool, obtained through of() : the instances of the data verticles
+ * sharing a pool all tick it, but it evaluates the pool at most once per period.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class AdaptivePoolSizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    /**
+     * The number of ticks skipped after a change of the pool size
+     */
+    private static final int COOLDOWN_TICKS = 2;
+
+    /**
+     * The number of ticks under pressure in a row before the pool grows
+     */
+    static final int GROW_TICKS = 2;
+
+    /**
+     * The number of ticks with slack in a row before the pool shrinks
+     */
+    static final int SHRINK_TICKS = 3;
+
+    /**
+     * The sizer of each pool
+     */
+    private static final Map<PoolMetrics, AdaptivePoolSizer> SIZERS = new ConcurrentHashMap<>();
+
+    private final PoolMetrics metrics;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final int step;
+
+    /**
+     * The checkout latency (in milliseconds) over which the pool grows
+     */
+    private final double targetWaitMillis;
+
+    /**
+     * The minimum time between two evaluations of the pool, in nanoseconds
+     */
+    private final long minIntervalNanos;
+
+    private long lastTick;
+
+    private int cooldown = 0;
+
+    private int pressure = 0;
+
+    private int slack = 0;
+
+    AdaptivePoolSizer(PoolMetrics metrics, int minSize, int maxSize, int step, double targetWaitMillis, long periodMillis) {
+        if (minSize <= 0 || maxSize < minSize || step <= 0) {
+            throw new IllegalArgumentException("Invalid adaptive pool bounds : min " + minSize +
+                    ", max " + maxSize + ", step " + step);
+        }
+        this.metrics = metrics;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = step;
+        this.targetWaitMillis = targetWaitMillis;
+        /* Tolerate the jitter between the timers of the verticles ticking the same sizer */
+        final long periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        this.minIntervalNanos = periodNanos - periodNanos / 10;
+        this.lastTick = System.nanoTime() - minIntervalNanos;
+    }
+
+    /**
+     * Gets the sizer of a pool, created with the given settings by its first user.
+     * @param metrics The metrics of the pool
+     * @param minSize The minimum pool size
+     * @param maxSize The maximum pool size
+     * @param step The number of connections added or removed at once
+     * @param targetWaitMillis The checkout latency (in milliseconds) over which the pool grows
+     * @param periodMillis The period of the ticks, in milliseconds
+     * @return The AdaptivePoolSizer instance of the pool
+     */
+    public static AdaptivePoolSizer of(PoolMetrics metrics, int minSize, int maxSize, int step,
+                                       double targetWaitMillis, long periodMillis) {
+        return SIZERS.computeIfAbsent(metrics,
+                m -> new AdaptivePoolSizer(m, minSize, maxSize, step, targetWaitMillis, periodMillis));
+    }
+
+    /**
+     * Evaluate the recent checkouts and resize the pool if needed.
+     * @return The new maximum pool size, or -1 if the pool has not been resized
+     */
+    public synchronized int tick() {
+        final long now = System.nanoTime();
+        if (now - lastTick < minIntervalNanos) {
+            /* Another verticle of the pool has already ticked for this period */
+            return -1;
+        }
+        lastTick = now;
+
+        final AbstractComboPooledDataSource dataSource = metrics.dataSource();
+        final double wait = metrics.recentCheckouts().percentile(0.95);
+        metrics.recentCheckouts().reset();
+        if (dataSource == null) {
+            return -1;
+        }
+
+        final int current = dataSource.getMaxPoolSize();
+        final int target = resize(current, wait, metrics.waiting(), metrics.idle());
+        if (target == current) {
+            return -1;
+        }
+        logger.info("Resizing the JDBC pool from {} to {} connections (checkout p95 {} ms, {} waiting)",
+                current, target, wait, metrics.waiting());
+        dataSource.setMaxPoolSize(target);
+        if (dataSource.getMinPoolSize() > target) {
+            dataSource.setMinPoolSize(target);
+        }
+        return target;
+    }
+
+    /**
+     * Decide the size of the pool from the checkouts of the last period.
+     * @param current The current maximum pool size
+     * @param wait The 95th percentile of the recent checkout latencies, in milliseconds
+     * @param waiting The number of pending connection requests
+     * @param idle The number of idle connections
+     * @return The new maximum pool size, or the current one
+     */
+    int resize(int current, double wait, int waiting, int idle) {
+        if (cooldown > 0) {
+            cooldown--;
+            return current;
+        }
+
+        if (wait > targetWaitMillis || waiting > 0) {
+            pressure++;
+            slack = 0;
+        } else if (wait < targetWaitMillis / 4 && idle > step) {
+            slack++;
+            pressure = 0;
+        } else {
+            pressure = 0;
+            slack = 0;
+        }
+
+        final int target;
+        if (pressure >= GROW_TICKS) {
+            target = Math.min(maxSize, current + step);
+        } else if (slack >= SHRINK_TICKS) {
+            target = Math.max(minSize, current - step);
+        } else {
+            target = current;
+        }
+
+        if (target != current) {
+            pressure = 0;
+            slack = 0;
+            cooldown = COOLDOWN_TICKS;
+        }
+        return target;
+    }
+}
@@ -0,0 +1,54 @@
+package io.turbine.core.jdbc.pool;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.reactivex.ext.sql.SQLConnection;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A SQLConnection that notifies the pool metrics when it is released.
+ * The connection is returned to the pool by its first close : the later ones have no effect,
+ * so that both an execution and the verticle that supplied the connection may close it.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+final class InstrumentedConnection extends SQLConnection {
+
+    private final PoolMetrics metrics;
+
+    /**
+     * Whether the connection has been released, so it is only counted once
+     */
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    InstrumentedConnection(SQLConnection connection, PoolMetrics metrics) {
+        super(connection.getDelegate());
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void close() {
+        if (release()) {
+            super.close();
+        }
+    }
+
+    @Override
+    public void close(Handler<AsyncResult<Void>> handler) {
+        if (release()) {
+            super.close(handler);
+        } else {
+            handler.handle(Future.succeededFuture());
+        }
+    }
+
+    private boolean release() {
+        if (released.compareAndSet(false, true)) {
+            metrics.released();
+            return true;
+        }
+        return false;
+    }
+}
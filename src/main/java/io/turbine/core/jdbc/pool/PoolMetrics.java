@@ -0,0 +1,314 @@
+package io.turbine.core.jdbc.pool;
+
+import com.mchange.v2.c3p0.AbstractComboPooledDataSource;
+import com.mchange.v2.c3p0.C3P0Registry;
+import io.turbine.core.jdbc.queries.executions.QueryExecution;
+import io.turbine.core.jdbc.queries.executions.StreamExecution;
+import io.turbine.core.metrics.Histogram;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.ext.sql.SQLConnection;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The metrics of the connections checked out from a JDBC pool : checkout latencies,
+ * connections in use and waiting for a checkout, and query execution times by type of execution.
+ *
+ * One instance is shared by all the data verticles (and all their instances) using the same
+ * pool, obtained by its JDBC URL through of().
+ *
+ * The idle and total connections counts are read from the c3p0 data source of the pool,
+ * looked up by its JDBC URL, when the JDBC client relies on c3p0 (its default provider).
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class PoolMetrics {
+
+    /**
+     * The metrics of each pool, by JDBC URL
+     */
+    private static final Map<String, PoolMetrics> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * The JDBC URL of the pool
+     */
+    private final String url;
+
+    /**
+     * All the checkout latencies
+     */
+    private final Histogram checkouts = new Histogram();
+
+    /**
+     * The checkout latencies since the last reset, read by the pool sizer
+     */
+    private final Histogram recentCheckouts = new Histogram();
+
+    /**
+     * The execution times, by type of execution
+     */
+    private final Map<String, Histogram> queries = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * The pooled data source, once found
+     */
+    private volatile AbstractComboPooledDataSource dataSource;
+
+    private PoolMetrics(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Gets the metrics of a pool.
+     * @param url The JDBC URL of the pool
+     * @return The PoolMetrics instance shared by all the users of the pool
+     */
+    public static PoolMetrics of(String url) {
+        return POOLS.computeIfAbsent(url, PoolMetrics::new);
+    }
+
+    /**
+     * Notify that a connection is requested.
+     * @return The checkout, to be notified once it succeeds or ends otherwise
+     */
+    public Checkout checkoutStarted() {
+        waiting.incrementAndGet();
+        return new Checkout();
+    }
+
+    /**
+     * A pending connection request. It leaves the wait queue only once, whether the connection
+     * is checked out, the request fails or it is disposed before the pool answers.
+     */
+    public final class Checkout {
+
+        private final long start = System.nanoTime();
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        private Checkout() {
+        }
+
+        /**
+         * Notify that the connection has been checked out.
+         */
+        public void succeeded() {
+            if (ended.compareAndSet(false, true)) {
+                final long latency = System.nanoTime() - start;
+                waiting.decrementAndGet();
+                inUse.incrementAndGet();
+                checkouts.record(latency);
+                recentCheckouts.record(latency);
+            }
+        }
+
+        /**
+         * Notify that the request has terminated : it has no effect once the checkout succeeded.
+         */
+        public void ended() {
+            if (ended.compareAndSet(false, true)) {
+                waiting.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Wrap a checked out connection, so that its release is notified.
+     * @param connection The checked out connection
+     * @return The instrumented connection
+     */
+    public SQLConnection instrument(SQLConnection connection) {
+        return new InstrumentedConnection(connection, this);
+    }
+
+    /**
+     * Notify that a connection has been returned to the pool.
+     */
+    public void released() {
+        inUse.decrementAndGet();
+    }
+
+    /**
+     * Record the execution time of a query.
+     * @param type The type of execution (see typeOf)
+     * @param nanos The execution time in nanoseconds
+     */
+    public void recordQuery(String type, long nanos) {
+        queries.computeIfAbsent(type, t -> new Histogram()).record(nanos);
+    }
+
+    public Histogram checkouts() {
+        return checkouts;
+    }
+
+    public Histogram recentCheckouts() {
+        return recentCheckouts;
+    }
+
+    public Histogram queries(String type) {
+        return queries.computeIfAbsent(type, t -> new Histogram());
+    }
+
+    /**
+     * Gets the number of connections checked out from the pool and not released yet.
+     * @return The connections in use
+     */
+    public int inUse() {
+        return inUse.get();
+    }
+
+    /**
+     * Gets the number of pending connection requests to the pool.
+     * @return The size of the wait queue
+     */
+    public int waiting() {
+        return waiting.get();
+    }
+
+    /**
+     * Gets the number of idle connections of the pool.
+     * @return The idle connections, or -1 if the pool cannot be inspected
+     */
+    public int idle() {
+        try {
+            return (dataSource() != null) ? dataSource.getNumIdleConnectionsDefaultUser() : -1;
+        } catch (SQLException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the number of open connections of the pool.
+     * @return The pool size, or -1 if the pool cannot be inspected
+     */
+    public int size() {
+        try {
+            return (dataSource() != null) ? dataSource.getNumConnectionsDefaultUser() : -1;
+        } catch (SQLException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the maximum size of the pool.
+     * @return The max pool size, or -1 if the pool cannot be inspected
+     */
+    public int maxSize() {
+        return (dataSource() != null) ? dataSource.getMaxPoolSize() : -1;
+    }
+
+    /**
+     * Gets the number of prepared statements cached by the connections of the pool, which
+     * are reused by the server as long as they stay cached.
+     * @return The cached statements, or -1 if the pool cannot be inspected
+     */
+    public int cachedStatements() {
+        return statementCacheStatistic(AbstractComboPooledDataSource::getStatementCacheNumStatementsDefaultUser);
+    }
+
+    /**
+     * Gets the number of cached prepared statements currently in use by a query : they are
+     * the statements reused (or just prepared) by the running queries.
+     * @return The checked out statements, or -1 if the pool cannot be inspected
+     */
+    public int checkedOutStatements() {
+        return statementCacheStatistic(AbstractComboPooledDataSource::getStatementCacheNumCheckedOutDefaultUser);
+    }
+
+    /**
+     * Gets the number of pooled connections holding cached prepared statements.
+     * @return The connections with cached statements, or -1 if the pool cannot be inspected
+     */
+    public int connectionsWithCachedStatements() {
+        return statementCacheStatistic(
+                AbstractComboPooledDataSource::getStatementCacheNumConnectionsWithCachedStatementsDefaultUser);
+    }
+
+    /**
+     * Gets a summary of the statement cache of the pool. c3p0 does not count the reuses of
+     * its cached statements : a number of cached statements close to the number of distinct
+     * statements times the connections holding them means that the statements are prepared
+     * once per connection, while a cache full of statements means that they are evicted and
+     * prepared again.
+     * @return A JsonObject holding the statement cache statistics
+     */
+    public JsonObject statementCache() {
+        return new JsonObject()
+                .put("statements", cachedStatements())
+                .put("checkedOut", checkedOutStatements())
+                .put("connections", connectionsWithCachedStatements());
+    }
+
+    /**
+     * A statistic of the statement cache of a c3p0 data source
+     */
+    @FunctionalInterface
+    private interface StatementCacheStatistic {
+        int read(AbstractComboPooledDataSource dataSource) throws SQLException;
+    }
+
+    private int statementCacheStatistic(StatementCacheStatistic statistic) {
+        try {
+            return (dataSource() != null) ? statistic.read(dataSource) : -1;
+        } catch (SQLException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * The c3p0 data source of the pool. It is created by the JDBC client with the first
+     * connection, so it is looked up until it is found.
+     * @return The data source, or null if it is not found
+     */
+    AbstractComboPooledDataSource dataSource() {
+        if (dataSource == null) {
+            for (Object candidate : C3P0Registry.getPooledDataSources()) {
+                if (candidate instanceof AbstractComboPooledDataSource &&
+                        url.equals(((AbstractComboPooledDataSource) candidate).getJdbcUrl())) {
+                    dataSource = (AbstractComboPooledDataSource) candidate;
+                    break;
+                }
+            }
+        }
+        return dataSource;
+    }
+
+    /**
+     * Gets a summary of the pool metrics.
+     * @return A JsonObject holding all the metrics
+     */
+    public JsonObject toJson() {
+        final JsonObject queriesJson = new JsonObject();
+        queries.forEach((type, histogram) -> queriesJson.put(type, histogram.toJson()));
+        return new JsonObject()
+                .put("inUse", inUse())
+                .put("waiting", waiting())
+                .put("idle", idle())
+                .put("size", size())
+                .put("maxSize", maxSize())
+                .put("statementCache", statementCache())
+                .put("checkouts", checkouts.toJson())
+                .put("queries", queriesJson);
+    }
+
+    /**
+     * Gets the type of a query execution, by which its execution times are recorded.
+     * @param execution The query execution
+     * @return The execution type name
+     */
+    public static String typeOf(Object execution) {
+        if (execution instanceof QueryExecution.Results) return "results";
+        if (execution instanceof QueryExecution.Update) return "update";
+        if (execution instanceof QueryExecution.Batch) return "batch";
+        if (execution instanceof StreamExecution) return "stream";
+        return "other";
+    }
+}
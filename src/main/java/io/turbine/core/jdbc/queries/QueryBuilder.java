@@ -1,9 +1,21 @@
 package io.turbine.core.jdbc.queries;
 
 import io.turbine.core.jdbc.queries.executions.QueryExecution;
+import io.turbine.core.jdbc.queries.executions.StreamExecution;
+import io.turbine.core.jdbc.results.BatchProgress;
+import io.turbine.core.jdbc.transformers.ResultTransformer;
+import io.vertx.core.json.JsonArray;
+
+import java.util.List;
 
 public interface QueryBuilder {
 
+    /**
+     * The cache of the plans of the statements executed by this builder.
+     * @return The StatementCache instance
+     */
+    StatementCache statements();
+
     /**
      * Execute a SQL prepared statement and wraps the resulting data
      * as a SingleResult.
@@ -33,4 +45,50 @@ public interface QueryBuilder {
      * @return The Update instance
      */
     QueryExecution.Update update(String sql, Object... params);
+
+    /**
+     * Execute a SQL prepared statement once for each parameters row, using JDBC batches
+     * of at most chunkSize rows, and return the update count of each row.
+     * @param sql The SQL of the statement
+     * @param params The parameters rows to fill the statement with
+     * @param chunkSize The maximum number of rows sent in one batch
+     * @see QueryExecution.Batch
+     * @return The Batch instance
+     */
+    QueryExecution.Batch batch(String sql, List<Object[]> params, int chunkSize);
+
+    /**
+     * Execute a SQL prepared statement once for each parameters row, using JDBC batches
+     * of at most chunkSize rows, and emit the progress of the execution after each batch.
+     * @param sql The SQL of the statement
+     * @param params The parameters rows to fill the statement with
+     * @param chunkSize The maximum number of rows sent in one batch
+     * @see BatchProgress
+     * @return The StreamExecution instance
+     */
+    StreamExecution<BatchProgress> batchProgress(String sql, List<Object[]> params, int chunkSize);
+
+    /**
+     * Execute a SQL prepared statement and stream the resulting rows one by one,
+     * as JsonArray instances holding the columns values in select order.
+     * Rows are fetched from the database as they are requested, so the whole
+     * result set is never held in memory.
+     * @param sql The SQL of the query
+     * @param params  The parameters to fill the statement
+     * @see StreamExecution
+     * @return The StreamExecution instance
+     */
+    StreamExecution<JsonArray> stream(String sql, Object... params);
+
+    /**
+     * Execute a SQL prepared statement and stream the resulting rows one by one,
+     * after transforming each of them with the given ResultTransformer.
+     * @param transformer The result transformer
+     * @param sql The SQL of the query
+     * @param params  The parameters to fill the statement
+     * @param <R> The type of transformed model instances
+     * @see StreamExecution
+     * @return The StreamExecution instance
+     */
+    <R> StreamExecution<R> stream(ResultTransformer<R> transformer, String sql, Object... params);
 }
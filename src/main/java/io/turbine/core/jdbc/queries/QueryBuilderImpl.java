@@ -1,22 +1,56 @@
 package io.turbine.core.jdbc.queries;
 
+import io.reactivex.Flowable;
+import io.reactivex.Single;
 import io.reactivex.functions.Function;
+import io.turbine.core.errors.exceptions.jdbc.TransformationException;
 import io.turbine.core.jdbc.queries.executions.QueryExecution;
+import io.turbine.core.jdbc.queries.executions.StreamExecution;
+import io.turbine.core.jdbc.results.BatchProgress;
+import io.turbine.core.jdbc.results.Columns;
 import io.turbine.core.jdbc.results.ManyResults;
 import io.turbine.core.jdbc.results.SingleResult;
+import io.turbine.core.jdbc.transformers.ResultTransformer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.UpdateResult;
+import io.vertx.reactivex.ext.sql.SQLConnection;
+import io.vertx.reactivex.ext.sql.SQLRowStream;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static io.turbine.core.json.JsonFormat.createJsonArray;
+import static java.util.Objects.requireNonNull;
 
 /**
  * An utility class that allows developer to updateWithParams asynchronously JDBC queries.
+ * Executions close the connection they are applied to once they terminate, so that a
+ * connection supplied by DataVerticle::connect is always returned to the pool. Closing the
+ * connection of a transaction has no effect (see Transaction#connection()).
  *
  * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
  */
 public final class QueryBuilderImpl implements QueryBuilder {
 
+    /**
+     * The cache of the statements plans
+     */
+    private final StatementCache statements;
+
+    public QueryBuilderImpl() {
+        this(new StatementCache());
+    }
+
+    public QueryBuilderImpl(StatementCache statements) {
+        this.statements = requireNonNull(statements, "statements");
+    }
+
+    @Override
+    public final StatementCache statements() {
+        return statements;
+    }
+
     @Override
     public final QueryExecution.Results single(final String sql, final Object... params) {
         return queryWithParams(sql, createJsonArray(params), SingleResult::new);
@@ -32,18 +66,100 @@ public final class QueryBuilderImpl implements QueryBuilder {
         return updateWithParams(sql, createJsonArray(params));
     }
 
+    @Override
+    public final QueryExecution.Batch batch(final String sql, final List<Object[]> params, final int chunkSize) {
+        final StreamExecution<BatchProgress> progress = batchProgress(sql, params, chunkSize);
+        return connection -> Flowable.fromPublisher(progress.apply(connection))
+                .collectInto(new int[params.size()], (counts, chunk) ->
+                        System.arraycopy(chunk.counts(), 0, counts, chunk.offset(), chunk.counts().length));
+    }
+
+    @Override
+    public final StreamExecution<BatchProgress> batchProgress(final String sql, final List<Object[]> params,
+                                                              final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The batch chunk size must be positive.");
+        }
+        final StatementCache.Plan plan = statements.get(sql);
+        return connection -> Flowable
+                .range(0, (params.size() + chunkSize - 1) / chunkSize)
+                .map(chunk -> chunk * chunkSize)
+                /* Chunks are executed one after the other, on the same connection */
+                .concatMap(offset -> executeChunk(connection.setOptions(plan.options()), sql, params,
+                        offset, Math.min(offset + chunkSize, params.size())).toFlowable())
+                .doFinally(connection::close);
+    }
+
+    @Override
+    public final StreamExecution<JsonArray> stream(final String sql, final Object... params) {
+        return streamWithParams(sql, createJsonArray(params), SQLRowStream::toFlowable);
+    }
+
+    @Override
+    public final <R> StreamExecution<R> stream(final ResultTransformer<R> transformer,
+                                               final String sql, final Object... params) {
+        return streamWithParams(sql, createJsonArray(params), rowStream -> {
+            final Columns columns = new Columns(rowStream.columns());
+            return rowStream.toFlowable().map(row -> transform(transformer, columns, row));
+        });
+    }
+
     private QueryExecution.Results queryWithParams(final String sql, final JsonArray params,
                                                    Function<ResultSet, io.turbine.core.jdbc.results.Results> resultsFactory)
     {
+        final StatementCache.Plan plan = statements.get(sql);
         return connection -> connection
+                .setOptions(plan.options())
                 .rxQueryWithParams(sql, params)
                 .map(resultsFactory)
                 .doFinally(connection::close);
     }
 
     private QueryExecution.Update updateWithParams(final String sql, JsonArray params) {
+        final StatementCache.Plan plan = statements.get(sql);
         return connection -> connection
+                .setOptions(plan.options())
                 .rxUpdateWithParams(sql, params)
-                .map(UpdateResult::getUpdated);
+                .map(UpdateResult::getUpdated)
+                .doFinally(connection::close);
+    }
+
+    private <R> StreamExecution<R> streamWithParams(final String sql, final JsonArray params,
+                                                    Function<SQLRowStream, Flowable<R>> rowsFactory)
+    {
+        return connection -> connection
+                .rxQueryStreamWithParams(sql, params)
+                .flatMapPublisher(rowStream -> rowsFactory.apply(rowStream)
+                        /* The statement is released as soon as the subscriber gives up */
+                        .doOnCancel(rowStream::close))
+                .doFinally(connection::close);
+    }
+
+    private static Single<BatchProgress> executeChunk(SQLConnection connection, String sql, List<Object[]> params,
+                                                      int from, int to)
+    {
+        final List<JsonArray> rows = new ArrayList<>(to - from);
+        for (Object[] row : params.subList(from, to)) {
+            rows.add(createJsonArray(row));
+        }
+        return connection
+                .rxBatchWithParams(sql, rows)
+                .map(counts -> {
+                    int[] result = new int[counts.size()];
+                    for (int i = 0; i < result.length; i++) {
+                        result[i] = counts.get(i);
+                    }
+                    return new BatchProgress(from, result, params.size());
+                });
+    }
+
+    private static <R> R transform(ResultTransformer<R> transformer, Columns columns, JsonArray row)
+            throws TransformationException
+    {
+        try {
+            return transformer.apply(columns.toObject(row));
+        } catch (Exception ex) {
+            throw new TransformationException(ex);
+        }
     }
 }
@@ -0,0 +1,55 @@
+package io.turbine.core.jdbc.queries;
+
+import io.vertx.ext.sql.SQLOptions;
+
+/**
+ * The kinds of SQL statements, as told by their leading keyword.
+ * The kind of a statement defines the SQL options it is executed with :
+ * for instance, only INSERT statements need to retrieve generated keys.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public enum QueryKind {
+    SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+    /**
+     * Find the kind of a SQL statement.
+     * @param sql The SQL of the statement
+     * @return The QueryKind of the statement
+     */
+    public static QueryKind of(String sql) {
+        int start = 0;
+        while (start < sql.length() &&
+                (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+
+        switch (sql.substring(start, end).toUpperCase()) {
+            case "SELECT":
+            case "WITH":
+            case "SHOW":
+                return SELECT;
+            case "INSERT":
+            case "REPLACE":
+                return INSERT;
+            case "UPDATE":
+                return UPDATE;
+            case "DELETE":
+                return DELETE;
+            default:
+                return OTHER;
+        }
+    }
+
+    /**
+     * Create the default SQL options for the statements of this kind.
+     * @return A new SQLOptions instance
+     */
+    public SQLOptions defaultOptions() {
+        return new SQLOptions().setAutoGeneratedKeys(this == INSERT);
+    }
+}
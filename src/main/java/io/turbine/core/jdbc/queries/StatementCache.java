@@ -0,0 +1,175 @@
+package io.turbine.core.jdbc.queries;
+
+import io.vertx.ext.sql.SQLOptions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded cache of the execution plans of SQL statements, keyed by their SQL text.
+ * A plan holds what can be resolved once for a statement : its kind and the SQL options
+ * it is executed with. The least recently used plans are evicted first.
+ *
+ * Lookups of cached plans take no lock : each plan records when it was last used, and
+ * the eviction of the least recently used plan is only run by the misses overflowing
+ * the cache.
+ *
+ * The preparation of the statements themselves is cached by the connection pool and the
+ * JDBC driver (see BaseDataVerticle), since the JDBC client does not expose its statements.
+ * The plan metrics only measure the reuse of the plans, not the effectiveness of the statement
+ * cache : the statements cached by the pool are reported by PoolMetrics.statementCache().
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class StatementCache {
+
+    /**
+     * The default maximum number of cached plans
+     */
+    public static final int DEFAULT_SIZE = 64;
+
+    /**
+     * An execution plan of a SQL statement
+     */
+    public static final class Plan {
+        private final String sql;
+        private final QueryKind kind;
+        private final SQLOptions options;
+
+        /**
+         * The last use of the plan, in lookups of the cache
+         */
+        private volatile long lastUsed;
+
+        private Plan(String sql, QueryKind kind, SQLOptions options) {
+            this.sql = sql;
+            this.kind = kind;
+            this.options = options;
+        }
+
+        public String sql() {
+            return sql;
+        }
+
+        public QueryKind kind() {
+            return kind;
+        }
+
+        public SQLOptions options() {
+            return options;
+        }
+    }
+
+    /**
+     * The cached plans
+     */
+    private final Map<String, Plan> plans = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    /**
+     * Supplies the SQL options of each kind of statement
+     */
+    private final Function<QueryKind, SQLOptions> optionsFactory;
+
+    /**
+     * The count of lookups, that orders the uses of the plans
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public StatementCache() {
+        this(DEFAULT_SIZE, QueryKind::defaultOptions);
+    }
+
+    public StatementCache(final int maxSize, Function<QueryKind, SQLOptions> optionsFactory) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The statement cache size must be positive.");
+        }
+        this.maxSize = maxSize;
+        this.optionsFactory = requireNonNull(optionsFactory, "optionsFactory");
+    }
+
+    /**
+     * Get the plan of a statement, creating it if it is not cached yet.
+     * @param sql The SQL of the statement
+     * @return The Plan of the statement
+     */
+    public Plan get(String sql) {
+        Plan plan = plans.get(sql);
+        if (plan != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            final QueryKind kind = QueryKind.of(sql);
+            final Plan created = new Plan(sql, kind, optionsFactory.apply(kind));
+            plan = plans.putIfAbsent(sql, created);
+            if (plan == null) {
+                plan = created;
+                plan.lastUsed = clock.incrementAndGet();
+                evict();
+                return plan;
+            }
+        }
+        plan.lastUsed = clock.incrementAndGet();
+        return plan;
+    }
+
+    /**
+     * Evict the least recently used plans, until the cache fits its maximum size.
+     */
+    private synchronized void evict() {
+        while (plans.size() > maxSize) {
+            Plan eldest = null;
+            for (Plan plan : plans.values()) {
+                if (eldest == null || plan.lastUsed < eldest.lastUsed) {
+                    eldest = plan;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            plans.remove(eldest.sql, eldest);
+        }
+    }
+
+    /**
+     * The number of lookups that found a cached plan.
+     * @return The plan hits
+     */
+    public long planHits() {
+        return hits.sum();
+    }
+
+    /**
+     * The number of lookups that created a plan.
+     * @return The plan misses
+     */
+    public long planMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * The ratio of the lookups that found a cached plan, which measures the reuse of the plans.
+     * It does not tell whether the statements were prepared again by the server (see
+     * PoolMetrics.statementCache() for the statements cached by the pool).
+     * @return The plan hit ratio, between 0 and 1 (0 if the cache has never been used)
+     */
+    public double planHitRatio() {
+        final long hitCount = hits.sum();
+        final long lookups = hitCount + misses.sum();
+        return (lookups == 0) ? 0 : (double) hitCount / lookups;
+    }
+
+    public int size() {
+        return plans.size();
+    }
+}
@@ -0,0 +1,110 @@
+package io.turbine.core.jdbc.queries;
+
+import io.reactivex.Single;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.turbine.core.jdbc.queries.executions.QueryExecution;
+import io.turbine.core.jdbc.results.Results;
+import io.vertx.reactivex.ext.sql.SQLConnection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A unit of work, running several query executions on the same connection, within
+ * a single database transaction.
+ * The transaction is committed or rolled back, and its connection released, by
+ * the verticle that started it (see BaseDataVerticle#inTransaction).
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class Transaction {
+
+    /**
+     * The connection of the transaction
+     */
+    private final SQLConnection connection;
+
+    /**
+     * The query builder used to create the executions
+     */
+    private final QueryBuilder queryBuilder;
+
+    /**
+     * The SQL of the update statements run by the transaction
+     */
+    private final List<String> writes = new ArrayList<>();
+
+    public Transaction(SQLConnection connection, QueryBuilder queryBuilder) {
+        this.connection = new BorrowedConnection(requireNonNull(connection, "connection"));
+        this.queryBuilder = requireNonNull(queryBuilder, "queryBuilder");
+    }
+
+    /**
+     * The connection lent to the executions of the transaction : closing it has no effect,
+     * since the connection is released by the verticle once the transaction is over.
+     */
+    private static final class BorrowedConnection extends SQLConnection {
+
+        BorrowedConnection(SQLConnection connection) {
+            super(connection.getDelegate());
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public void close(Handler<AsyncResult<Void>> handler) {
+            handler.handle(Future.succeededFuture());
+        }
+    }
+
+    /**
+     * The connection of the transaction. Closing it has no effect : the connection is
+     * released by the verticle that started the transaction.
+     * @return The SQLConnection instance
+     */
+    public SQLConnection connection() {
+        return connection;
+    }
+
+    /**
+     * Run a query execution within the transaction.
+     * @param execution The query execution
+     * @param <R> The type of the execution result
+     * @return A Single that emits the result of the execution
+     */
+    public <R> Single<R> execute(QueryExecution<R> execution) {
+        return Single.defer(() -> Single.wrap(execution.apply(connection)));
+    }
+
+    public Single<Results> single(String sql, Object... params) {
+        return execute(queryBuilder.single(sql, params));
+    }
+
+    public Single<Results> select(String sql, Object... params) {
+        return execute(queryBuilder.select(sql, params));
+    }
+
+    public Single<Integer> update(String sql, Object... params) {
+        writes.add(sql);
+        return execute(queryBuilder.update(sql, params));
+    }
+
+    public Single<int[]> batch(String sql, List<Object[]> params, int chunkSize) {
+        writes.add(sql);
+        return execute(queryBuilder.batch(sql, params, chunkSize));
+    }
+
+    /**
+     * The SQL of the update statements run by the transaction through update() and batch().
+     * @return The list of the update statements
+     */
+    public List<String> writes() {
+        return Collections.unmodifiableList(writes);
+    }
+}
@@ -4,6 +4,15 @@ import io.reactivex.SingleSource;
 import io.reactivex.functions.Function;
 import io.vertx.reactivex.ext.sql.SQLConnection;
 
+/**
+ * Defines a function that executes a query on a SQLConnection.
+ * The executions built by the QueryBuilder close the connection once they terminate,
+ * whatever their outcome, so that it is returned to the pool. The connection of a
+ * transaction is not released by its executions, but when the transaction is over.
+ *
+ * @param <R> The type of the execution result
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
 @FunctionalInterface
 public interface QueryExecution<R> extends Function<SQLConnection, SingleSource<R>> {
 
@@ -27,4 +36,15 @@ public interface QueryExecution<R> extends Function<SQLConnection, SingleSource<
      */
     @FunctionalInterface
     interface Update extends QueryExecution<Integer> {}
+
+    /**
+     * Defines a function that supplies a SingleSource of the update counts of each row
+     * after the execution of a batch from a SQLConnection.
+     * This is actually used to operate a flatMap() on a Single<SQLConnection> (usually
+     * provided by DataVerticle::connect) to get a Single<int[]>.
+     *
+     * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+     */
+    @FunctionalInterface
+    interface Batch extends QueryExecution<int[]> {}
 }
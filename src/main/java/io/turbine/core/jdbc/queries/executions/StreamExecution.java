@@ -0,0 +1,20 @@
+package io.turbine.core.jdbc.queries.executions;
+
+import io.reactivex.functions.Function;
+import io.vertx.reactivex.ext.sql.SQLConnection;
+import org.reactivestreams.Publisher;
+
+/**
+ * Defines a function that supplies a Publisher of the rows of a query, read one by one
+ * from the row stream of a SQLConnection, instead of loading the whole result set in memory.
+ * This is actually used to operate a flatMapPublisher() on a Single<SQLConnection> (usually
+ * provided by DataVerticle::connect) to get a Flowable of rows.
+ * The rows are read from the database as they are requested downstream (backpressure).
+ * The executions built by the QueryBuilder close the connection once the stream terminates
+ * or is cancelled.
+ *
+ * @param <R> The type of the emitted rows
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@FunctionalInterface
+public interface StreamExecution<R> extends Function<SQLConnection, Publisher<R>> {}
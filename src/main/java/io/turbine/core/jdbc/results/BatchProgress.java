@@ -0,0 +1,75 @@
+package io.turbine.core.jdbc.results;
+
+/**
+ * The progress of a batch execution, emitted each time a chunk of rows has been executed.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class BatchProgress {
+
+    /**
+     * The index of the first row of the chunk
+     */
+    private final int offset;
+
+    /**
+     * The update counts of each row of the chunk
+     */
+    private final int[] counts;
+
+    /**
+     * The total number of rows of the batch
+     */
+    private final int total;
+
+    public BatchProgress(int offset, int[] counts, int total) {
+        this.offset = offset;
+        this.counts = counts;
+        this.total = total;
+    }
+
+    /**
+     * The index of the first row of the chunk, in the batch parameters list.
+     * @return The chunk offset
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * The update counts of each row of the chunk, as returned by the JDBC driver.
+     * @return The update counts
+     */
+    public int[] counts() {
+        return counts;
+    }
+
+    /**
+     * The number of rows executed so far, including this chunk.
+     * @return The processed rows count
+     */
+    public int processed() {
+        return offset + counts.length;
+    }
+
+    /**
+     * The total number of rows of the batch.
+     * @return The total rows count
+     */
+    public int total() {
+        return total;
+    }
+
+    /**
+     * Indicates whether this is the progress of the last chunk.
+     * @return true if all the rows of the batch have been executed
+     */
+    public boolean isComplete() {
+        return processed() == total;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchProgress{" + processed() + "/" + total + "}";
+    }
+}
@@ -0,0 +1,78 @@
+package io.turbine.core.jdbc.results;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The columns of a query result, shared by all its rows.
+ * Column names are held once, so that rows can be stored as arrays of values
+ * and their values looked up by position.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class Columns {
+
+    /**
+     * The column names, in select order
+     */
+    private final List<String> names;
+
+    /**
+     * The position of each column, by name
+     */
+    private final Map<String, Integer> positions;
+
+    public Columns(List<String> names) {
+        this.names = (names == null) ?
+                Collections.emptyList() :
+                Collections.unmodifiableList(names);
+        this.positions = new HashMap<>(this.names.size() * 2);
+        for (int i = 0; i < this.names.size(); i++) {
+            positions.putIfAbsent(this.names.get(i), i);
+        }
+    }
+
+    /**
+     * The column names.
+     * @return The list of the column names, in select order
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * Gets the count of columns.
+     * @return The number of columns
+     */
+    public int count() {
+        return names.size();
+    }
+
+    /**
+     * Gets the position of a column in the rows.
+     * @param name The column name
+     * @return The position of the column, or -1 if the result has no such column
+     */
+    public int indexOf(String name) {
+        return positions.getOrDefault(name, -1);
+    }
+
+    /**
+     * Creates a JsonObject view of a row, with the column names as keys.
+     * @param row The row values, in select order
+     * @return A new JsonObject holding the row values
+     */
+    public JsonObject toObject(JsonArray row) {
+        final Map<String, Object> values = new LinkedHashMap<>(names.size() * 2);
+        for (int i = 0; i < names.size(); i++) {
+            values.put(names.get(i), row.getValue(i));
+        }
+        return new JsonObject(values);
+    }
+}
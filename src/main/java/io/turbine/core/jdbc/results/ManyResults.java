@@ -4,13 +4,13 @@ import io.turbine.core.errors.exceptions.jdbc.JdbcException;
 import io.turbine.core.errors.exceptions.jdbc.NotSingleResultException;
 import io.turbine.core.errors.exceptions.jdbc.TransformationException;
 import io.turbine.core.jdbc.transformers.ResultTransformer;
+import io.turbine.core.jdbc.transformers.RowTransformer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.sql.ResultSet;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import static io.turbine.core.json.JsonFormat.jsonArrayCollector;
@@ -18,27 +18,54 @@ import static io.turbine.core.json.JsonFormat.jsonArrayCollector;
 /**
  * A Results implementation for gathering many results.
  *
+ * Results are stored in a columnar way : the column names are held once, and each
+ * row is an array of values, in select order. The JsonObject views of the rows are only
+ * created when they are requested.
+ *
  * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
  */
 public class ManyResults implements Results {
 
-    protected final List<JsonObject> rows;
+    /**
+     * The columns shared by all rows
+     */
+    protected final Columns columns;
+
+    /**
+     * The rows values
+     */
+    protected final List<JsonArray> rows;
+
+    /**
+     * The JsonObject views of the rows, created on first request
+     */
+    private List<JsonObject> objects;
 
     public ManyResults(ResultSet rs) {
-        rows = new LinkedList<>(rs.getRows());
+        columns = new Columns(rs.getColumnNames());
+        rows = (rs.getResults() == null) ?
+                Collections.emptyList() :
+                Collections.unmodifiableList(rs.getResults());
     }
 
     @Override
     public List<JsonObject> toList() {
-        return Collections.unmodifiableList(rows);
+        if (objects == null) {
+            List<JsonObject> list = new ArrayList<>(rows.size());
+            for (JsonArray row : rows) {
+                list.add(columns.toObject(row));
+            }
+            objects = Collections.unmodifiableList(list);
+        }
+        return objects;
     }
 
     @Override
     public <R> List<R> toTypedList(ResultTransformer<R> transformer) throws TransformationException {
-        List<R> resultingList = new ArrayList<>();
+        List<R> resultingList = new ArrayList<>(rows.size());
         try {
-            for (JsonObject object : this.rows) {
-                resultingList.add(transformer.apply(object));
+            for (JsonArray row : rows) {
+                resultingList.add(transformer.apply(columns.toObject(row)));
             }
         } catch (Exception ex) {
             throw new TransformationException(ex);
@@ -46,9 +73,32 @@ public class ManyResults implements Results {
         return Collections.unmodifiableList(resultingList);
     }
 
+    @Override
+    public <R> List<R> toTypedList(RowTransformer<R> transformer) throws TransformationException {
+        List<R> resultingList = new ArrayList<>(rows.size());
+        try {
+            for (JsonArray row : rows) {
+                resultingList.add(transformer.apply(row, columns));
+            }
+        } catch (Exception ex) {
+            throw new TransformationException(ex);
+        }
+        return Collections.unmodifiableList(resultingList);
+    }
+
+    @Override
+    public List<JsonArray> toRows() {
+        return rows;
+    }
+
+    @Override
+    public Columns columns() {
+        return columns;
+    }
+
     @Override
     public JsonArray toArray() {
-        return rows.stream().collect(jsonArrayCollector());
+        return toList().stream().collect(jsonArrayCollector());
     }
 
 
@@ -66,6 +116,11 @@ public class ManyResults implements Results {
         throw new NotSingleResultException();
     }
 
+    @Override
+    public <R> R getTypedSingle(RowTransformer<R> transformer) throws JdbcException {
+        throw new NotSingleResultException();
+    }
+
     @Override
     public final int count() {
         return rows.size();
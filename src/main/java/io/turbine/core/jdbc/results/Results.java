@@ -3,6 +3,7 @@ package io.turbine.core.jdbc.results;
 import io.turbine.core.errors.exceptions.jdbc.JdbcException;
 import io.turbine.core.errors.exceptions.jdbc.TransformationException;
 import io.turbine.core.jdbc.transformers.ResultTransformer;
+import io.turbine.core.jdbc.transformers.RowTransformer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -33,6 +34,28 @@ public interface Results {
      */
     <R> List<R> toTypedList(ResultTransformer<R> transformer) throws TransformationException;
 
+    /**
+     * Get the query results after transforming each of them
+     * with the given RowTransformer, reading the values of each row by position.
+     * @param transformer The row transformer
+     * @param <R> The type of transformed model instances
+     * @return A list of R-typed instance
+     * @throws TransformationException An error has occurred while applying the transformer
+     */
+    <R> List<R> toTypedList(RowTransformer<R> transformer) throws TransformationException;
+
+    /**
+     * Get the query results as raw rows, holding the columns values in select order.
+     * @return A list of JsonArray representing each row
+     */
+    List<JsonArray> toRows();
+
+    /**
+     * Get the columns of the query results.
+     * @return The Columns instance
+     */
+    Columns columns();
+
     /**
      * Get the query results as a raw JsonArray.
      * @return A JsonArray instance representing all rows
@@ -56,6 +79,16 @@ public interface Results {
      */
     <R> R getTypedSingle(ResultTransformer<R> transformer) throws JdbcException;
 
+    /**
+     * Get the single and only result from the query execution, after
+     * transforming it to a model instance by reading its values by position.
+     * @param transformer The row transformer
+     * @param <R> The type of transformed model instance
+     * @return A R-typed instance
+     * @throws JdbcException An error has occurred during the query execution
+     */
+    <R> R getTypedSingle(RowTransformer<R> transformer) throws JdbcException;
+
     /**
      * Gets the count of result.
      * @return The number of rows
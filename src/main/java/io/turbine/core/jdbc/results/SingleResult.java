@@ -4,6 +4,8 @@ import io.turbine.core.errors.exceptions.jdbc.JdbcException;
 import io.turbine.core.errors.exceptions.jdbc.NoResultException;
 import io.turbine.core.errors.exceptions.jdbc.TransformationException;
 import io.turbine.core.jdbc.transformers.ResultTransformer;
+import io.turbine.core.jdbc.transformers.RowTransformer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.sql.ResultSet;
 
@@ -23,7 +25,7 @@ public class SingleResult extends ManyResults {
         if (rows.isEmpty())
             throw new NoResultException();
 
-        return rows.iterator().next();
+        return toList().get(0);
     }
 
     @Override
@@ -36,4 +38,17 @@ public class SingleResult extends ManyResults {
             throw new TransformationException(ex);
         }
     }
+
+    @Override
+    public <R> R getTypedSingle(RowTransformer<R> transformer) throws JdbcException {
+        if (rows.isEmpty())
+            throw new NoResultException();
+
+        final JsonArray row = rows.get(0);
+        try {
+            return transformer.apply(row, columns);
+        } catch (Exception ex) {
+            throw new TransformationException(ex);
+        }
+    }
 }
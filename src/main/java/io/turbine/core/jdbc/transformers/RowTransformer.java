@@ -0,0 +1,27 @@
+package io.turbine.core.jdbc.transformers;
+
+import io.turbine.core.jdbc.results.Columns;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Defines a function that transform a individual result row from a query execution
+ * to the desired R-typed result, reading the row values by position.
+ * Unlike ResultTransformer, no JsonObject is created for the row : column positions
+ * can be resolved once by name with the given Columns instance.
+ *
+ * @param <R> The type of the result extracted from the JsonArray row
+ * @see ResultTransformer
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@FunctionalInterface
+public interface RowTransformer<R> {
+
+    /**
+     * Transform a row to a R-typed result.
+     * @param row The row values, in select order
+     * @param columns The columns of the result
+     * @return The R-typed result
+     * @throws Exception Any error occurring during the transformation
+     */
+    R apply(JsonArray row, Columns columns) throws Exception;
+}
@@ -1,14 +1,22 @@
 package io.turbine.core.json;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.turbine.core.utils.BufferOutputStream;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.EncodeException;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
+import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collector;
@@ -16,7 +24,6 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static io.turbine.core.utils.Utils.Dates.formatDateIso3601;
-import static io.turbine.core.utils.Utils.Reflection.isPrimitiveOrWrapper;
 import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collector.of;
@@ -30,53 +37,90 @@ public final class JsonFormat {
         return JSON_ARRAY_COLLECTOR;
     }
 
-    private static JsonObject parseJsonObject(Object response) {
-        final JsonObject json;
-        if (response instanceof JsonSerializable) {
-            return  ((JsonSerializable) response).toJson();
-        } else if (response instanceof JsonObject) {
-            return (JsonObject) response;
-        } else {
-            return new JsonObject(Json.encode(response));
-        }
+    /**
+     * Print the response as a pretty JSON string.
+     * @param response The response to print
+     * @return The JSON representation of the response
+     * @see JsonFormat#writeJson(Buffer, Object, boolean)
+     */
+    public static String printJson(Object response) {
+        return printJson(response, true);
+    }
+
+    /**
+     * Print the response as a JSON string.
+     * @param response The response to print
+     * @param pretty true for a pretty (indented) output, false for a compact one
+     * @return The JSON representation of the response
+     * @see JsonFormat#writeJson(Buffer, Object, boolean)
+     */
+    public static String printJson(Object response, boolean pretty) {
+        return writeJson(response, pretty).toString();
+    }
+
+    /**
+     * Write the response as JSON into a new Buffer.
+     * @param response The response to write
+     * @param pretty true for a pretty (indented) output, false for a compact one
+     * @return A Buffer holding the UTF-8 encoded JSON
+     * @see JsonFormat#writeJson(Buffer, Object, boolean)
+     */
+    public static Buffer writeJson(Object response, boolean pretty) {
+        return writeJson(Buffer.buffer(), response, pretty);
+    }
+
+    /**
+     * Write the response as JSON, appending it to the target Buffer.
+     * The response is encoded only once, by the Vert.x object mapper streaming its
+     * UTF-8 output straight into the buffer :
+     *   - JsonSerializable objects are written from their JSON representation (also
+     *     applied to the items of a collection)
+     *   - Instant are written as ISO-8601 strings
+     *   - any other object (JsonObject, JsonArray, Map, String, primitive values, POJO...)
+     *     is written as is by the mapper
+     * A null response writes nothing.
+     * @param target The buffer to append to
+     * @param response The response to write
+     * @param pretty true for a pretty (indented) output, false for a compact one
+     * @return The target Buffer
+     * @throws EncodeException The response could not be encoded
+     */
+    public static Buffer writeJson(Buffer target, Object response, boolean pretty) throws EncodeException {
+        requireNonNull(target, "target");
+        if (response == null) {
+            return target;
+        }
+
+        final ObjectMapper mapper = pretty ? Json.prettyMapper : Json.mapper;
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(new BufferOutputStream(target), JsonEncoding.UTF8)) {
+            mapper.writeValue(generator, toJsonValue(response));
+        } catch (IOException ex) {
+            throw new EncodeException("Failed to encode as JSON: " + ex.getMessage());
+        }
+        return target;
     }
 
     @SuppressWarnings("unchecked")
-    public static String printJson(Object response) {
-        /* For collections, call parseJsonObject on each item */
-        if (response instanceof Collection) {
-            JsonArray array = ((Collection<Object>) response)
-                    .stream()
-                    .map(JsonFormat::parseJsonObject)
-                    .collect(jsonArrayCollector());
-
-            return array.encodePrettily();
-        /* For Map, convert Map<?,?> to Map<String, Object>
-            and use JsonObject(Map) constructor */
-        } else if (response instanceof Map) {
-            Map<String, Object> map = new LinkedHashMap<>();
-            ((Map) response).forEach((k, v) -> map.put(k.toString(), v));
-
-            return new JsonObject(map).encodePrettily();
-
-        /* Return strings surrounded with double-quote */
-        } else if (response instanceof String) {
-            return "\"" + response + "\"";
+    private static Object toJsonValue(Object response) {
+        if (response instanceof JsonSerializable) {
+            return ((JsonSerializable) response).toJson();
+
+        /* For collections, replace JsonSerializable items by their JSON representation */
+        } else if (response instanceof Collection) {
+            final Collection<Object> collection = (Collection<Object>) response;
+            final List<Object> items = new ArrayList<>(collection.size());
+            for (Object item : collection) {
+                items.add((item instanceof JsonSerializable) ? ((JsonSerializable) item).toJson() : item);
+            }
+            return items;
 
         /* Returns Java 8 Time ISO-8601 string representation */
         } else if (response instanceof Instant) {
-            return "\"" + formatDateIso3601((Instant) response) + "\"";
-
-        /* Returns standard toString() representation for primitive values (wrapper) */
-        } else if (isPrimitiveOrWrapper(response)) {
-            return response.toString();
-
-        /* For JsonArray collection object */
-        } else if (response instanceof JsonArray) {
-            return ((JsonArray) response).encodePrettily();
+            return formatDateIso3601((Instant) response);
 
         } else {
-            return parseJsonObject(response).encodePrettily();
+            return response;
         }
     }
 
@@ -0,0 +1,129 @@
+package io.turbine.core.metrics;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations.
+ *
+ * Durations are counted in exponential buckets of microseconds (each bucket covers twice
+ * the range of the previous one), so that recording is constant in time and memory,
+ * and percentiles are estimated with a relative error below a factor 2.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class Histogram {
+
+    /**
+     * The number of buckets : the last one holds all the durations over 2^38 microseconds
+     */
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sumMicros = new AtomicLong();
+
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Record a duration.
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        final long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(bucketOf(micros));
+        count.incrementAndGet();
+        sumMicros.addAndGet(micros);
+
+        long max;
+        while (micros > (max = maxMicros.get())) {
+            if (maxMicros.compareAndSet(max, micros)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     * @return The count of durations
+     */
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Gets the mean duration, in milliseconds.
+     * @return The mean of the durations, or 0 if none was recorded
+     */
+    public double mean() {
+        final long n = count.get();
+        return (n == 0) ? 0 : sumMicros.get() / 1000.0 / n;
+    }
+
+    /**
+     * Gets the maximum duration, in milliseconds.
+     * @return The max of the durations
+     */
+    public double max() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * Estimates a percentile of the durations, in milliseconds.
+     * @param quantile The quantile, between 0 and 1 (0.95 for the 95th percentile)
+     * @return The upper bound of the bucket holding the percentile, or 0 if no duration was recorded
+     */
+    public double percentile(double quantile) {
+        final long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        final long rank = (long) Math.ceil(quantile * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Clear all the recorded durations.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sumMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    /**
+     * Gets a summary of the histogram.
+     * @return A JsonObject holding the count, mean, max and main percentiles (in milliseconds)
+     */
+    public JsonObject toJson() {
+        return new JsonObject()
+                .put("count", count())
+                .put("mean", mean())
+                .put("p50", percentile(0.5))
+                .put("p95", percentile(0.95))
+                .put("p99", percentile(0.99))
+                .put("max", max());
+    }
+
+    private static int bucketOf(long micros) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return (bucket == BUCKETS - 1) ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
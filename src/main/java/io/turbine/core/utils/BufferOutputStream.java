@@ -0,0 +1,44 @@
+package io.turbine.core.utils;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.io.OutputStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An OutputStream that appends every written byte to a Vert.x Buffer.
+ * It allows stream-based encoders (JSON generators, compressors...) to write
+ * their output straight into the buffer that will be sent.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class BufferOutputStream extends OutputStream {
+
+    /**
+     * The target buffer
+     */
+    private final Buffer buffer;
+
+    public BufferOutputStream(Buffer buffer) {
+        this.buffer = requireNonNull(buffer, "buffer");
+    }
+
+    /**
+     * The buffer holding all the written bytes.
+     * @return The target Buffer
+     */
+    public Buffer buffer() {
+        return buffer;
+    }
+
+    @Override
+    public void write(int b) {
+        buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        buffer.appendBytes(bytes, offset, length);
+    }
+}
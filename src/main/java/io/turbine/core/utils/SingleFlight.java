@@ -0,0 +1,53 @@
+package io.turbine.core.utils;
+
+import io.reactivex.Single;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicates concurrent executions of the same call : while a call is in flight,
+ * subsequent calls with an equal key are answered by the pending result instead of
+ * starting a new execution.
+ * Results are not kept once the call has terminated : this is not a cache.
+ *
+ * @param <K> The type of the call keys
+ * @param <V> The type of the call results
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class SingleFlight<K, V> {
+
+    /**
+     * The calls in flight, by key
+     */
+    private final Map<K, Single<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Execute a call, or join the pending call with the same key.
+     * @param key The key of the call
+     * @param call Supplies the Single that executes the call, only invoked if no call is pending
+     * @return A Single that emits the shared result of the call
+     */
+    public Single<V> execute(K key, Callable<Single<V>> call) {
+        return Single.defer(() -> flights.computeIfAbsent(key, k -> {
+            Single<V> source;
+            try {
+                source = call.call();
+            } catch (Exception ex) {
+                source = Single.error(ex);
+            }
+            return source
+                    .doFinally(() -> flights.remove(k))
+                    .cache();
+        }));
+    }
+
+    /**
+     * Gets the number of calls in flight.
+     * @return The count of pending calls
+     */
+    public int size() {
+        return flights.size();
+    }
+}
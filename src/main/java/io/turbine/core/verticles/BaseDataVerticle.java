@@ -1,22 +1,89 @@
 package io.turbine.core.verticles;
 
+import io.reactivex.Flowable;
 import io.reactivex.Single;
+import io.reactivex.SingleSource;
+import io.reactivex.functions.Function;
+import io.turbine.core.jdbc.cache.ResultCache;
+import io.turbine.core.jdbc.pool.AdaptivePoolSizer;
+import io.turbine.core.jdbc.pool.PoolMetrics;
 import io.turbine.core.jdbc.queries.QueryBuilder;
 import io.turbine.core.jdbc.queries.QueryBuilderImpl;
+import io.turbine.core.jdbc.queries.QueryKind;
+import io.turbine.core.jdbc.queries.StatementCache;
+import io.turbine.core.jdbc.queries.Transaction;
+import io.turbine.core.jdbc.queries.executions.QueryExecution;
+import io.turbine.core.jdbc.queries.executions.StreamExecution;
+import io.turbine.core.jdbc.results.BatchProgress;
 import io.turbine.core.jdbc.results.Results;
+import io.turbine.core.jdbc.transformers.ResultTransformer;
 import io.turbine.core.verticles.behaviors.DataVerticle;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.sql.SQLOptions;
+import io.vertx.reactivex.core.RxHelper;
 import io.vertx.reactivex.ext.jdbc.JDBCClient;
 import io.vertx.reactivex.ext.sql.SQLConnection;
 
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.turbine.core.json.JsonFormat.createJsonArray;
 import static io.vertx.reactivex.ext.jdbc.JDBCClient.createShared;
 
 public abstract class BaseDataVerticle extends BaseVerticle implements DataVerticle {
 
+    /**
+     * The default number of rows fetched at once by row streams
+     */
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    /**
+     * The default number of prepared statements cached by each pooled connection
+     */
+    private static final int DEFAULT_STATEMENTS_PER_CONNECTION = 64;
+
+    /**
+     * The default number of rows sent in one JDBC batch
+     */
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * The address the result cache invalidations are published to, followed by the JDBC URL
+     */
+    private static final String INVALIDATIONS_ADDRESS = "turbine.jdbc.cache.invalidations.";
+
+    /**
+     * The header holding the instance that published an invalidation
+     */
+    private static final String ORIGIN_HEADER = "origin";
+
     private JDBCClient jdbc;
-    private final QueryBuilder queryBuilder = new QueryBuilderImpl();
+    private QueryBuilder queryBuilder;
+
+    /**
+     * The metrics of the pool, shared by the verticles using it
+     */
+    private PoolMetrics poolMetrics;
+
+    /**
+     * The cache of the results of cachedSelect() and cachedSingle() queries, null if disabled
+     */
+    private ResultCache resultCache;
+
+    /**
+     * The address of the result cache invalidations of the database
+     */
+    private String invalidationsAddress;
+
+    /**
+     * The identifier of this instance, that skips its own invalidations
+     */
+    private final String instanceId = UUID.randomUUID().toString();
 
     @Override
     public final QueryBuilder query() {
@@ -27,7 +94,25 @@ public abstract class BaseDataVerticle extends BaseVerticle implements DataVerti
     public void init(Vertx vertx, Context context) {
         super.init(vertx, context);
 
-        jdbc = createShared(this.vertx, jdbcConfiguration());
+        queryBuilder = new QueryBuilderImpl(new StatementCache(
+                readConfig("jdbc.statement-cache-size", StatementCache.DEFAULT_SIZE),
+                this::sqlOptions));
+        final JsonObject jdbcConfig = withStatementCaching(jdbcConfiguration());
+        poolMetrics = PoolMetrics.of(jdbcConfig.getString("url", ""));
+        jdbc = createShared(this.vertx, jdbcConfig);
+        if (readConfig("jdbc.cache.enabled", false)) {
+            resultCache = new ResultCache(
+                    readConfig("jdbc.cache.max-size", 1000),
+                    readConfig("jdbc.cache.ttl-ms", 60000),
+                    TimeUnit.MILLISECONDS);
+            invalidationsAddress = INVALIDATIONS_ADDRESS + jdbcConfig.getString("url", "");
+            register(this.vertx.eventBus().<String>consumer(invalidationsAddress).toFlowable()
+                    .filter(message -> !instanceId.equals(message.headers().get(ORIGIN_HEADER)))
+                    .subscribe(message -> resultCache.invalidate(message.body())));
+        }
+        if (readConfig("jdbc.pool.adaptive.enabled", false)) {
+            startAdaptivePoolSizing();
+        }
         connect()
             .doOnSuccess(connection -> {
                 connection.close();
@@ -38,8 +123,72 @@ public abstract class BaseDataVerticle extends BaseVerticle implements DataVerti
 
     @Override
     public final Single<SQLConnection> connect() {
-        return jdbc.rxGetConnection()
-                .map(c -> c.setOptions(sqlOptions()));
+        return Single.defer(() -> {
+            final PoolMetrics.Checkout checkout = poolMetrics.checkoutStarted();
+            return jdbc.rxGetConnection()
+                    .doOnSuccess(c -> checkout.succeeded())
+                    /* Also leaves the wait queue if the checkout fails or is disposed */
+                    .doFinally(checkout::ended)
+                    .map(c -> poolMetrics.instrument(c).setOptions(sqlOptions()));
+        });
+    }
+
+    /**
+     * The metrics of the connections checked out from the pool, and of the queries
+     * executed on them : they are shared by all the verticles using the same pool.
+     * @return The PoolMetrics instance
+     */
+    public final PoolMetrics poolMetrics() {
+        return poolMetrics;
+    }
+
+    /**
+     * The cache of the results of the cachedSelect() and cachedSingle() queries, enabled
+     * by the "jdbc.cache.enabled" configuration.
+     * Its entries are invalidated by the updates run through this verticle, and by those run
+     * through the other data verticles (or instances of this one) using the same database with
+     * the cache enabled, which publish them on the event bus. The updates run elsewhere are
+     * only seen once the cached results expire.
+     * @return The ResultCache instance, or null if the cache is disabled
+     */
+    public final ResultCache resultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Invalidate the cached results read from the table written by an update statement,
+     * in this verticle and in all the data verticles using the same database with the cache enabled.
+     * @param sql The SQL of the update statement
+     */
+    private void invalidate(String sql) {
+        if (resultCache == null) {
+            return;
+        }
+        resultCache.invalidate(sql);
+        vertx.eventBus().publish(invalidationsAddress, sql,
+                new DeliveryOptions().addHeader(ORIGIN_HEADER, instanceId));
+    }
+
+    /**
+     * Periodically resize the pool according to the connections checkout latency,
+     * within the bounds read from the "jdbc.pool.adaptive" configuration.
+     * Resizing is run on a worker thread, since c3p0 resets the pool synchronously.
+     * All the verticles sharing the pool tick the same sizer, which evaluates it once per period,
+     * so that the pool keeps being sized as long as one of them is deployed.
+     */
+    private void startAdaptivePoolSizing() {
+        final long period = readConfig("jdbc.pool.adaptive.period-ms", 10000);
+        final AdaptivePoolSizer sizer = AdaptivePoolSizer.of(
+                poolMetrics,
+                readConfig("jdbc.pool.adaptive.min-size", 2),
+                readConfig("jdbc.pool.adaptive.max-size", 50),
+                readConfig("jdbc.pool.adaptive.step", 2),
+                readConfig("jdbc.pool.adaptive.target-wait-ms", 10),
+                period);
+
+        register(Flowable.interval(period, TimeUnit.MILLISECONDS, RxHelper.blockingScheduler(this.vertx))
+                .subscribe(tick -> sizer.tick(),
+                           error -> logger.error("The adaptive pool sizing has failed", error)));
     }
 
     @Override
@@ -47,15 +196,179 @@ public abstract class BaseDataVerticle extends BaseVerticle implements DataVerti
         return new SQLOptions().setAutoGeneratedKeys(true);
     }
 
+    /**
+     * {@inheritDoc}
+     * Generated keys are only retrieved for INSERT statements.
+     */
+    @Override
+    public SQLOptions sqlOptions(QueryKind kind) {
+        final SQLOptions options = new SQLOptions(sqlOptions());
+        return options.setAutoGeneratedKeys(options.isAutoGeneratedKeys() && kind == QueryKind.INSERT);
+    }
+
+    /**
+     * Enable the caching of prepared statements, unless the JDBC configuration already defines it :
+     * by the connection pool (max_statements_per_connection), and by the server for MariaDB
+     * and MySQL connections (useServerPrepStmts), so that a statement is parsed once per connection.
+     * @param config The JDBC configuration
+     * @return A copy of the configuration with statement caching enabled
+     */
+    private JsonObject withStatementCaching(JsonObject config) {
+        final JsonObject result = config.copy();
+        if (!result.containsKey("max_statements") && !result.containsKey("max_statements_per_connection")) {
+            result.put("max_statements_per_connection",
+                    readConfig("jdbc.statements-per-connection", DEFAULT_STATEMENTS_PER_CONNECTION));
+        }
+
+        final String url = result.getString("url", "");
+        if ((url.startsWith("jdbc:mariadb:") || url.startsWith("jdbc:mysql:")) &&
+                !url.contains("useServerPrepStmts")) {
+            result.put("url", url + (url.contains("?") ? "&" : "?") + "useServerPrepStmts=true");
+        }
+        return result;
+    }
+
+    /**
+     * The SQL options of the connections used to stream rows.
+     * The fetch size, read from the "jdbc.fetch-size" configuration key, bounds the number
+     * of rows held in memory by a stream.
+     * @return A SQLOptions instance
+     */
+    protected SQLOptions streamOptions() {
+        return sqlOptions(QueryKind.SELECT).setFetchSize(readConfig("jdbc.fetch-size", DEFAULT_FETCH_SIZE));
+    }
+
+    /**
+     * Run a query execution on a connection of the pool, which is released as soon as
+     * the execution terminates, whatever its outcome.
+     * @param execution The query execution
+     * @param <T> The type of the execution result
+     * @return A Single that emits the result of the execution
+     */
+    public final <T> Single<T> withConnection(QueryExecution<T> execution) {
+        final String type = PoolMetrics.typeOf(execution);
+        return connect().flatMap(connection -> timed(type,
+                Single.defer(() -> Single.wrap(execution.apply(connection))))
+                      .doFinally(connection::close));
+    }
+
+    /**
+     * Run a unit of work within a transaction : all its executions share the same connection,
+     * the transaction is committed if the unit of work succeeds and rolled back otherwise.
+     * The connection is released in any case.
+     * @param work The unit of work, that supplies its result from the transaction
+     * @param <T> The type of the unit of work result
+     * @return A Single that emits the result of the unit of work, once committed
+     */
+    public final <T> Single<T> inTransaction(Function<Transaction, SingleSource<T>> work) {
+        return connect().flatMap(connection -> {
+            final Transaction transaction = new Transaction(connection, queryBuilder);
+            return timed("transaction", connection
+                    .rxSetAutoCommit(false)
+                    .andThen(Single.defer(() -> Single.wrap(work.apply(transaction))))
+                    .flatMap(result -> connection.rxCommit().toSingleDefault(result))
+                    .doOnSuccess(result -> transaction.writes().forEach(this::invalidate))
+                    .onErrorResumeNext(error -> connection.rxRollback()
+                            .doOnError(rollbackError -> logger.error("Could not rollback the transaction", rollbackError))
+                            .onErrorComplete()
+                            .andThen(Single.<T>error(error))))
+                    /* The pool resets the auto-commit mode of the connection when it is returned */
+                    .doFinally(connection::close);
+        });
+    }
+
+    private <T> Flowable<T> withConnection(String type, Single<SQLConnection> connection,
+                                           StreamExecution<T> execution) {
+        return connection.flatMapPublisher(c -> Flowable.defer(() -> {
+                    final long start = System.nanoTime();
+                    return Flowable.fromPublisher(execution.apply(c))
+                            .doFinally(() -> poolMetrics.recordQuery(type, System.nanoTime() - start));
+                })
+                .doFinally(c::close));
+    }
+
+    private <T> Single<T> timed(String type, Single<T> execution) {
+        return Single.defer(() -> {
+            final long start = System.nanoTime();
+            return execution.doFinally(() -> poolMetrics.recordQuery(type, System.nanoTime() - start));
+        });
+    }
+
     public Single<Results> single(String sql, Object... params) {
-        return connect().flatMap(queryBuilder.single(sql, params));
+        return withConnection(queryBuilder.single(sql, params));
     }
 
     public Single<Results> select(String sql, Object... params) {
-        return connect().flatMap(queryBuilder.select(sql, params));
+        return withConnection(queryBuilder.select(sql, params));
+    }
+
+    /**
+     * Same as single(), but the results are read through the result cache, if enabled.
+     * @param sql The SQL of the query
+     * @param params The parameters to fill the statement
+     * @return A Single that emits the cached or loaded results
+     */
+    public Single<Results> cachedSingle(String sql, Object... params) {
+        if (resultCache == null) {
+            return single(sql, params);
+        }
+        return Single.defer(() -> resultCache.get(sql, createJsonArray(params), () -> single(sql, params)));
+    }
+
+    /**
+     * Same as select(), but the results are read through the result cache, if enabled.
+     * @param sql The SQL of the query
+     * @param params The parameters to fill the statement
+     * @return A Single that emits the cached or loaded results
+     */
+    public Single<Results> cachedSelect(String sql, Object... params) {
+        if (resultCache == null) {
+            return select(sql, params);
+        }
+        return Single.defer(() -> resultCache.get(sql, createJsonArray(params), () -> select(sql, params)));
     }
 
     public Single<Integer> update(String sql, Object... params) {
-        return connect().flatMap(queryBuilder.update(sql, params));
+        return withConnection(queryBuilder.update(sql, params))
+                .doFinally(() -> invalidate(sql));
+    }
+
+    /**
+     * The number of rows sent in one JDBC batch, read from the "jdbc.batch-size" configuration key.
+     * @return The batch chunk size
+     */
+    protected int batchSize() {
+        return readConfig("jdbc.batch-size", DEFAULT_BATCH_SIZE);
+    }
+
+    public Single<int[]> batch(String sql, List<Object[]> params) {
+        return batch(sql, params, batchSize());
+    }
+
+    public Single<int[]> batch(String sql, List<Object[]> params, int chunkSize) {
+        return withConnection(queryBuilder.batch(sql, params, chunkSize))
+                .doFinally(() -> invalidate(sql));
+    }
+
+    public Flowable<BatchProgress> batchProgress(String sql, List<Object[]> params) {
+        return batchProgress(sql, params, batchSize());
+    }
+
+    public Flowable<BatchProgress> batchProgress(String sql, List<Object[]> params, int chunkSize) {
+        /* Timed along with the other batches, rather than with the row streams */
+        return withConnection("batch", connect(), queryBuilder.batchProgress(sql, params, chunkSize))
+                .doFinally(() -> invalidate(sql));
+    }
+
+    public Flowable<JsonArray> stream(String sql, Object... params) {
+        return withConnection("stream",
+                connect().map(c -> c.setOptions(streamOptions())),
+                queryBuilder.stream(sql, params));
+    }
+
+    public <R> Flowable<R> stream(ResultTransformer<R> transformer, String sql, Object... params) {
+        return withConnection("stream",
+                connect().map(c -> c.setOptions(streamOptions())),
+                queryBuilder.stream(transformer, sql, params));
     }
 }
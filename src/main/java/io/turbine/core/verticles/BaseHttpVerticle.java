@@ -4,14 +4,21 @@ import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.turbine.core.configuration.Configuration;
 import io.turbine.core.verticles.behaviors.HttpVerticle;
+import io.turbine.core.web.compression.ResponseCompression;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.net.JksOptions;
 import io.vertx.reactivex.core.http.HttpServer;
 
 import static io.reactivex.Completable.fromAction;
 import static io.reactivex.Completable.fromSingle;
+import static io.turbine.core.web.HttpConstants.ContentTypes.APPLICATION_JSON;
+import static io.turbine.core.web.HttpConstants.ContentTypes.APPLICATION_NDJSON;
+import static io.turbine.core.web.HttpConstants.ContentTypes.APPLICATION_XML;
+import static io.turbine.core.web.HttpConstants.ContentTypes.TEXT_PLAIN;
+import static java.util.stream.Collectors.toList;
 
 
 /**
@@ -40,6 +47,11 @@ public abstract class BaseHttpVerticle extends BaseVerticle implements HttpVerti
      */
     private HttpServer httpServer;
 
+    /**
+     * The compression settings of the responses
+     */
+    private ResponseCompression compression;
+
     /**
      * {@inheritDoc}
      * Initialize also the HTTP server instance.
@@ -52,6 +64,7 @@ public abstract class BaseHttpVerticle extends BaseVerticle implements HttpVerti
         if (httpServer == null) {
             httpServer = this.vertx.createHttpServer(httpServerOptions());
         }
+        compression = readCompression();
     }
 
     /**
@@ -70,12 +83,43 @@ public abstract class BaseHttpVerticle extends BaseVerticle implements HttpVerti
         final HttpServerOptions options = new HttpServerOptions();
 
         options.setSsl(useSsl());
+        options.setMaxWebsocketFrameSize(readConfig("websocket.max-frame-size",
+                HttpServerOptions.DEFAULT_MAX_WEBSOCKET_FRAME_SIZE));
         if (useSsl())
             options.setKeyStoreOptions(jksOptions());
 
         return options;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseCompression compression() {
+        return compression;
+    }
+
+    /**
+     * Read the compression settings from the "compression" configuration node :
+     * enabled (false by default), level (1 to 9, 6 by default), min-size (in bytes,
+     * 1024 by default) and content-types (JSON, text and XML by default).
+     * The responses are compressed by the verticle rather than by the HTTP server,
+     * so that compressed bodies can be cached along with the responses.
+     * @return The ResponseCompression instance
+     */
+    private ResponseCompression readCompression() {
+        if (!readConfig("compression.enabled", false)) {
+            return ResponseCompression.disabled();
+        }
+        final JsonArray defaultTypes = new JsonArray()
+                .add(APPLICATION_JSON).add(APPLICATION_NDJSON).add(APPLICATION_XML).add(TEXT_PLAIN);
+        final JsonArray contentTypes = readConfig("compression.content-types", defaultTypes);
+        return new ResponseCompression(true,
+                readConfig("compression.level", 6),
+                readConfig("compression.min-size", 1024),
+                contentTypes.stream().map(Object::toString).collect(toList()));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,6 +17,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -163,8 +164,18 @@ public abstract class BaseVerticle extends AbstractVerticle implements Verticle
     private Completable getSharedData() {
         Completable loaded = complete();
         for (Field field : getClass().getDeclaredFields()) {
-            if (field.isAnnotationPresent(Shared.class)
-                    && field.getType().isAssignableFrom(AsyncMap.class)) {
+            if (!field.isAnnotationPresent(Shared.class)) {
+                continue;
+            }
+            /* Each deployed copy of the verticle injects its own map : a static field
+             * would be written concurrently from several event loops. */
+            if (Modifier.isStatic(field.getModifiers())) {
+                return error(new IllegalStateException("The @Shared field " + field.getName()
+                        + " of the verticle " + getClass().getSimpleName() + " must not be static"));
+            }
+            if (!field.getType().isAssignableFrom(AsyncMap.class)) {
+                logger.warn("The @Shared field {} is ignored since it is not an AsyncMap", field.getName());
+            } else {
                 final String name;
                 if (isEmpty(field.getAnnotation(Shared.class).name()))
                     name = field.getName();
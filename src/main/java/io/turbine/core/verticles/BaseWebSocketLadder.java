@@ -3,24 +3,35 @@ package io.turbine.core.verticles;
 import io.reactivex.Completable;
 import io.reactivex.Observable;
 import io.reactivex.Single;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.SerialDisposable;
+import io.turbine.core.deployment.VerticleFactory;
 import io.turbine.core.errors.exceptions.http.UnauthorizedException;
+import io.turbine.core.errors.exceptions.ws.WebSocketException;
 import io.turbine.core.utils.rxcollection.ReactiveMap;
 import io.turbine.core.utils.rxcollection.impl.ReactiveMapImpl;
 import io.turbine.core.utils.rxcollection.observers.ReactiveMapObserver;
 import io.turbine.core.verticles.behaviors.HttpVerticle;
 import io.turbine.core.verticles.behaviors.WebSocketLadder;
 import io.turbine.core.verticles.behaviors.WebSocketRoom;
+import io.turbine.core.web.compression.ResponseCompression;
 import io.turbine.core.ws.Message;
 import io.turbine.core.ws.RoomFactory;
 import io.turbine.core.ws.WsConnection;
+import io.turbine.core.ws.cluster.RoomRelay;
 import io.turbine.core.ws.impl.WsConnectionImpl;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.JksOptions;
+import io.vertx.reactivex.core.RxHelper;
 import io.vertx.reactivex.core.http.HttpServer;
 import io.vertx.reactivex.core.http.ServerWebSocket;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static io.reactivex.Completable.fromSingle;
@@ -51,17 +62,44 @@ public abstract class BaseWebSocketLadder<S, R, B> extends BaseWebSocketVerticle
 
     private final ReactiveMap<R, WebSocketRoom<S, R, B>> rooms = new ReactiveMapImpl<>();
 
+    /**
+     * The rooms being deployed, shared by the connections that join them meanwhile
+     */
+    private final Map<R, Single<WebSocketRoom<S, R, B>>> deployingRooms = new HashMap<>();
+
+    /**
+     * The subscriptions of the ladder to each room, disposed when the room is destroyed
+     */
+    private final Map<R, CompositeDisposable> roomSubscriptions = new HashMap<>();
+
+    /**
+     * The relay of the room messages between the nodes, in clustered mode
+     */
+    private RoomRelay relay;
+
     private void rejectConnection(ServerWebSocket ws, Throwable cause) {
         logger.debug("Client connection from {} rejected : {}", ws.remoteAddress(), cause.getMessage());
 
         if (cause instanceof UnauthorizedException) {
-            ws.writeTextMessage(cause.getMessage());
-            ws.close();
+            closeConnection(ws, cause);
         } else {
             ws.reject();
         }
     }
 
+    /**
+     * Close a connection that could not join its room : once the socket handler has returned,
+     * the handshake is over and the connection can no longer be rejected.
+     * @param ws The socket of the connection
+     * @param cause The reason why the connection is closed
+     */
+    private void closeConnection(ServerWebSocket ws, Throwable cause) {
+        if (cause instanceof UnauthorizedException || cause instanceof WebSocketException) {
+            ws.writeTextMessage(cause.getMessage());
+        }
+        ws.close();
+    }
+
     private void handleWebSocket(ServerWebSocket ws) {
         if (allowAnonymous()) {
             handleWebSocketConnection(ws, null);
@@ -88,46 +126,147 @@ public abstract class BaseWebSocketLadder<S, R, B> extends BaseWebSocketVerticle
     }
 
     private void handleWebSocketConnection(ServerWebSocket ws, S sender) {
-        WsConnection<S> conn = new WsConnectionImpl<>(sender, ws);
-
+        final WsConnection<S> conn = new WsConnectionImpl<>(sender, ws);
+        final R roomId;
         try {
-            R roomId = getRoomIdentifier(ws);
-            WebSocketRoom<S, R, B> room;
-
-            if (rooms.containsKey(roomId)) {
-                room = rooms.get(roomId);
-            } else {
-                room = roomFactory().apply(this, roomId);
-                /* FIXME:  use deployer to deploy room verticle */
-               // deployVerticle(roomFactory())
-                register(
-                        room.disconnections().subscribe(connections::remove),
-                        room.rxStart().subscribe(() -> rooms.put(roomId, room)),
-                        room.emptySignal()
-                                .delay(keepIdleRooms(), TimeUnit.MILLISECONDS)
-                                .subscribe(() -> this.clearRoom(roomId))
-                );
-            }
-            room.connect(conn);
+            roomId = getRoomIdentifier(ws);
         } catch (Exception ex) {
             logger.error("Cannot open the room.", ex);
+            rejectConnection(ws, ex);
+            return;
         }
+
+        /* The frames received until the room handles the socket must not be lost */
+        ws.pause();
+        /* The rooms are only managed from the event loop of the ladder */
+        context.runOnContext(v -> register(room(roomId)
+                .flatMapCompletable(room -> room.rxConnect(conn))
+                .subscribe(ws::resume, ex -> {
+                    logger.error("Cannot open the room.", ex);
+                    closeConnection(ws, ex);
+                })));
     }
 
-    /* FIXME : Use deployer to undeploy room child verticle */
-    private void clearRoom(R roomId) {
-        logger.info("Room {} was empty for {} ms so it was destroyed.", roomId.toString(), KEEP_IDLE_ROOMS);
-        try {
-            rooms.get(roomId).rxStop()
-                    .subscribe(() -> rooms.remove(roomId));
-        } catch (Exception ex) {
-            logger.error("The verticle for room {} could not stop properly", roomId);
+    /**
+     * Get a room, deploying it if it does not exist yet.
+     * @param roomId The room identifier
+     * @return A single of the deployed room
+     */
+    private Single<WebSocketRoom<S, R, B>> room(R roomId) {
+        if (rooms.containsKey(roomId)) {
+            return Single.just(rooms.get(roomId));
         }
+        return deployingRooms.computeIfAbsent(roomId, id -> deployRoom(id).cache());
+    }
+
+    /**
+     * Deploy a room as a child verticle of the ladder : Vert.x assigns an event loop to
+     * each deployment, so that the rooms are spread across the event loops.
+     * @param roomId The room identifier
+     * @return A single of the deployed room
+     */
+    @SuppressWarnings("unchecked")
+    private Single<WebSocketRoom<S, R, B>> deployRoom(R roomId) {
+        final VerticleFactory<WebSocketRoom<S, R, B>> factory = VerticleFactory.factory(
+                () -> roomFactory().apply(this, roomId),
+                (Class<WebSocketRoom<S, R, B>>) (Class<?>) WebSocketRoom.class);
+        final JsonObject roomConfig = config().copy().put("instances", 1);
+
+        return deployer().deployVerticle(factory, roomConfig)
+                .doOnSuccess(room -> {
+                    rooms.put(roomId, room);
+                    final CompositeDisposable subscriptions = new CompositeDisposable();
+                    roomSubscriptions.put(roomId, subscriptions);
+                    if (relay != null) {
+                        final String key = roomId.toString();
+                        relay.subscribe(key, room::deliver);
+                        subscriptions.add(room.messages().subscribe(m -> relay.send(key, m.toBuffer())));
+                    }
+                    final SerialDisposable idleTimer = new SerialDisposable();
+                    subscriptions.addAll(room.disconnections().subscribe(connections::remove), idleTimer);
+                    clearWhenIdle(roomId, room.emptySignal(), idleTimer);
+                })
+                .doFinally(() -> deployingRooms.remove(roomId));
+    }
+
+    /**
+     * Clear a room once it has been empty for keepIdleRooms() milliseconds.
+     * @param roomId The room identifier
+     * @param emptySignal The completable signaling that the room is empty
+     * @param idleTimer The disposable holding the timer of the room
+     */
+    private void clearWhenIdle(R roomId, Completable emptySignal, SerialDisposable idleTimer) {
+        idleTimer.set(emptySignal
+                .delay(keepIdleRooms(), TimeUnit.MILLISECONDS,
+                        RxHelper.scheduler(new io.vertx.reactivex.core.Context(context)))
+                .subscribe(() -> this.clearRoom(roomId, idleTimer)));
+    }
+
+    private void clearRoom(R roomId, SerialDisposable idleTimer) {
+        final WebSocketRoom<S, R, B> room = rooms.get(roomId);
+        if (room == null) {
+            return;
+        }
+        if (room.occupation() > 0) {
+            /* Members joined the room while it was idle : wait for it to be empty again */
+            clearWhenIdle(roomId, room.emptySignal().ambWith(Completable.defer(() ->
+                    (room.occupation() == 0) ? Completable.complete() : Completable.never())), idleTimer);
+            return;
+        }
+        rooms.remove(roomId);
+        final CompositeDisposable subscriptions = roomSubscriptions.remove(roomId);
+        if (subscriptions != null) {
+            subscriptions.dispose();
+        }
+        if (relay != null) {
+            relay.unsubscribe(roomId.toString());
+        }
+        logger.info("Room {} was empty for {} ms so it was destroyed.", roomId, keepIdleRooms());
+        register(deployer().undeployVerticle(room.deploymentID()).subscribe(
+                () -> {},
+                ex -> logger.error("The verticle for room {} could not stop properly", roomId, ex)));
+    }
+
+    /**
+     * Join the cluster of ladders when the clustered mode is enabled, by the
+     * "cluster.enabled" configuration property. The members of a room may then
+     * connect to any node : its messages are relayed to the other nodes over the
+     * event bus, which requires Vert.x to be started in clustered mode.
+     */
+    private void joinCluster() {
+        if (readConfig("cluster.enabled", false)) {
+            relay = new RoomRelay(vertx.getDelegate(),
+                    readConfig("cluster.node", UUID.randomUUID().toString()),
+                    readConfig("cluster.batch-delay", 5),
+                    readConfig("cluster.batch-size", 100),
+                    readConfig("cluster.heartbeat", 1000));
+            relay.join();
+            logger.info("Node {} joined the cluster of rooms", relay.node());
+        }
+    }
+
+    /**
+     * The metrics of the relay of the room messages between the nodes.
+     * @return A JsonObject, empty if the clustered mode is disabled
+     */
+    public JsonObject relayMetrics() {
+        return (relay != null) ? relay.toJson() : new JsonObject();
+    }
+
+    @Override
+    public Completable rxStop() {
+        return Completable.fromAction(() -> {
+            roomSubscriptions.values().forEach(CompositeDisposable::dispose);
+            roomSubscriptions.clear();
+            if (relay != null) {
+                relay.leave();
+            }
+        }).concatWith(super.rxStop());
     }
 
     @Override
     public Completable rxStart() {
-        return super.rxStart().concatWith(
+        return super.rxStart().concatWith(Completable.fromAction(this::joinCluster)).concatWith(
                 /** FIXME: Call to the deployer **/
             fromSingle(
                 deployer().deployVerticle(
@@ -188,6 +327,11 @@ public abstract class BaseWebSocketLadder<S, R, B> extends BaseWebSocketVerticle
         return http.jksOptions();
     }
 
+    @Override
+    public ResponseCompression compression() {
+        return http.compression();
+    }
+
     @Override
     public Single<HttpServer> listen() {
         return http.listen();
@@ -6,10 +6,18 @@ import io.turbine.core.json.JsonFormat;
 import io.turbine.core.verticles.behaviors.WebSocketLadder;
 import io.turbine.core.verticles.behaviors.WebSocketRoom;
 import io.turbine.core.ws.Message;
+import io.turbine.core.ws.OutboundQueue;
+import io.turbine.core.ws.SlowConsumerPolicy;
 import io.turbine.core.ws.WsConnection;
 import io.turbine.core.ws.impl.MessageImpl;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.RxHelper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static io.turbine.core.utils.Utils.Reactive.completeOnFirst;
 import static java.util.Objects.requireNonNull;
@@ -25,31 +33,90 @@ public abstract class BaseWebSocketRoom<S, R, B>
 
     private long messagesCount = 0;
 
+    /**
+     * The batching window, read when the room starts
+     */
+    private long batchWindow = 0;
+
     protected BaseWebSocketRoom(WebSocketLadder<S, R, B> ladder, R roomIdentifier) {
         super();
         requireNonNull(roomIdentifier, "room's identifier");
         this.ladder = ladder;
         this.roomIdentifier = roomIdentifier;
-        initialize();
+    }
+
+    @Override
+    public Completable rxStart() {
+        return super.rxStart().concatWith(Completable.fromAction(this::initialize));
+    }
+
+    /**
+     * Run an action on the event loop of the room, or straight away
+     * if the room is not deployed.
+     * @param action The action to run
+     */
+    private void onContext(Runnable action) {
+        if (context == null || context == Vertx.currentContext()) {
+            action.run();
+        } else {
+            context.runOnContext(v -> action.run());
+        }
     }
 
     private void handleWebSocketConnection(final WsConnection<S> conn) {
-        conn.webSocket().textMessageHandler(text -> {
+        /* The socket handlers are called on the event loop of the HTTP server */
+        conn.webSocket().textMessageHandler(text -> onContext(() -> {
             try {
                 final JsonObject json = JsonFormat.fromString(text);
                 final Message<S, B> message = new MessageImpl<>(conn, parseMessage(json));
                 messages.onNext(message);
             } catch (DecodeException ignored) {}
-        });
+        }));
 
-        conn.webSocket().closeHandler(v -> connections.remove(conn));
+        conn.webSocket().closeHandler(v -> onContext(() -> connections.remove(conn)));
     }
 
+    /**
+     * Subscribe to the connections and messages of the room, once its configuration
+     * is available.
+     */
     private void initialize() {
         register(
                 connections().subscribe(this::handleWebSocketConnection),
-                messages().subscribe(this::broadcast),
                 messages().subscribe(m -> messagesCount++));
+
+        batchWindow = batchWindow();
+        if (batchWindow > 0) {
+            /* The window timer runs on the event loop of the room, as the messages do */
+            register(messages()
+                    .buffer(batchWindow, TimeUnit.MILLISECONDS,
+                            RxHelper.scheduler(new io.vertx.reactivex.core.Context(context)), batchSize())
+                    .filter(batch -> !batch.isEmpty())
+                    .subscribe(this::broadcast));
+        } else {
+            register(messages().subscribe(this::broadcast));
+        }
+    }
+
+    /**
+     * The duration of the window over which the messages are collected before being
+     * broadcast together, as one JSON array frame per connection.
+     * Batching is disabled when the window is 0 : each message is sent on its own.
+     * It is read from the "room.batch-window" configuration key when the room starts.
+     * @return The batching window, in milliseconds
+     */
+    protected long batchWindow() {
+        return readConfig("room.batch-window", 0);
+    }
+
+    /**
+     * The maximum number of messages in a batch : a full batch is sent without
+     * waiting for the end of the window.
+     * It is read from the "room.batch-size" configuration key when the room starts.
+     * @return The batch size
+     */
+    protected int batchSize() {
+        return readConfig("room.batch-size", 100);
     }
 
     @Override
@@ -64,9 +131,33 @@ public abstract class BaseWebSocketRoom<S, R, B>
         if (capacity > 0 && occupation() >= capacity) {
             throw new WebSocketException("The room " + roomIdentifier + " is full.");
         }
+        connection.outbound().configure(outboundCapacity(), slowConsumerPolicy());
         connections.add(connection);
     }
 
+    @Override
+    public Completable rxConnect(WsConnection<S> connection) {
+        return Completable.create(emitter -> onContext(() -> {
+            try {
+                connect(connection);
+                emitter.onComplete();
+            } catch (WebSocketException ex) {
+                emitter.onError(ex);
+            }
+        }));
+    }
+
+    @Override
+    public void deliver(List<Buffer> payloads) {
+        onContext(() -> {
+            if (batchWindow > 0) {
+                broadcast(jsonArray(payloads));
+            } else {
+                payloads.forEach(this::broadcast);
+            }
+        });
+    }
+
     @Override
     public Completable emptySignal() {
         return completeOnFirst(disconnections().filter(e -> connections.isEmpty()));
@@ -95,6 +186,16 @@ public abstract class BaseWebSocketRoom<S, R, B>
         return connections.size();
     }
 
+    @Override
+    public int outboundCapacity() {
+        return OutboundQueue.DEFAULT_CAPACITY;
+    }
+
+    @Override
+    public SlowConsumerPolicy slowConsumerPolicy() {
+        return SlowConsumerPolicy.DROP_OLDEST;
+    }
+
     @Override
     public R identifier() {
         return roomIdentifier;
@@ -8,7 +8,17 @@ import io.turbine.core.utils.rxcollection.events.ListEvent;
 import io.turbine.core.utils.rxcollection.impl.ReactiveListImpl;
 import io.turbine.core.verticles.behaviors.WebSocketVerticle;
 import io.turbine.core.ws.Message;
+import io.turbine.core.ws.OutboundMessage;
+import io.turbine.core.ws.OutboundQueue;
+import io.turbine.core.ws.SharedTextFrame;
 import io.turbine.core.ws.WsConnection;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.vertx.core.http.HttpServerOptions.DEFAULT_MAX_WEBSOCKET_FRAME_SIZE;
 
 public abstract class BaseWebSocketVerticle<S, R, B> extends BaseVerticle
         implements WebSocketVerticle<S, B>
@@ -35,11 +45,104 @@ public abstract class BaseWebSocketVerticle<S, R, B> extends BaseVerticle
                 .map(ListEvent::first);
     }
 
+    /**
+     * Indicates whether broadcast messages are written as a frame built once and shared
+     * by all the connections, rather than encoded and framed again for each connection.
+     * Disabled by default, since shared frames rely on Vert.x internal classes.
+     * Payloads larger than a frame are always written as a String, that Vert.x splits
+     * into several frames.
+     * @return true to share the broadcast frames
+     */
+    protected boolean sharedFrames() {
+        return false;
+    }
+
+    /**
+     * The maximum size of the frames written by the HTTP server, read from the
+     * "websocket.max-frame-size" configuration like the server itself does.
+     * @return The maximum frame size, in bytes
+     */
+    protected int maxFrameSize() {
+        return readConfig("websocket.max-frame-size", DEFAULT_MAX_WEBSOCKET_FRAME_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The message is serialized once, whatever the number of connections, and goes
+     * through the outbound queue of each connection, so that a slow client never
+     * holds back the others.
+     */
     @Override
     public void broadcast(final Message<S, B> message) {
-        connections.forEach(
-            conn -> conn.webSocket().writeTextMessage(
-                    message.toJsonString()
-            ));
+        if (!connections.isEmpty()) {
+            broadcast(message.toBuffer());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The batch is serialized once, and written as a single frame to each connection.
+     */
+    @Override
+    public void broadcast(final List<Message<S, B>> batch) {
+        if (connections.isEmpty() || batch.isEmpty()) {
+            return;
+        }
+        final List<Buffer> payloads = new ArrayList<>(batch.size());
+        for (Message<S, B> message : batch) {
+            payloads.add(message.toBuffer());
+        }
+        broadcast(jsonArray(payloads));
+    }
+
+    /**
+     * Join serialized messages into a JSON array.
+     * @param payloads The JSON encoded messages
+     * @return The JSON encoded array
+     */
+    protected static Buffer jsonArray(final List<Buffer> payloads) {
+        final Buffer array = Buffer.buffer().appendByte((byte) '[');
+        for (int i = 0; i < payloads.size(); i++) {
+            if (i > 0) {
+                array.appendByte((byte) ',');
+            }
+            array.appendBuffer(payloads.get(i));
+        }
+        return array.appendByte((byte) ']');
+    }
+
+    /**
+     * {@inheritDoc}
+     * The payload goes through the outbound queue of each connection.
+     */
+    @Override
+    public void broadcast(final Buffer payload) {
+        /* Larger messages are split into several frames by Vert.x, from a String */
+        final int maxFrameSize = maxFrameSize();
+        final OutboundMessage outbound = (sharedFrames() && payload.length() <= maxFrameSize)
+                ? new SharedTextFrame(payload)
+                : OutboundMessage.text(payload.toString(), maxFrameSize);
+        connections.forEach(conn -> conn.send(outbound));
+    }
+
+    /**
+     * Aggregate the outbound queues metrics of the connections.
+     * @return A JsonObject holding the number of connections, the number of queued
+     * messages, the deepest queue and the number of dropped messages
+     */
+    public JsonObject outboundMetrics() {
+        long queued = 0, dropped = 0;
+        int deepest = 0;
+        for (WsConnection<S> conn : connections) {
+            final OutboundQueue outbound = conn.outbound();
+            queued += outbound.depth();
+            dropped += outbound.dropped();
+            deepest = Math.max(deepest, outbound.maxDepth());
+        }
+        return new JsonObject()
+                .put("connections", connections.size())
+                .put("queued", queued)
+                .put("deepest", deepest)
+                .put("dropped", dropped);
     }
 }
@@ -1,34 +1,73 @@
 package io.turbine.core.verticles;
 
+import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
 import io.reactivex.Single;
+import io.reactivex.disposables.Disposables;
 import io.reactivex.functions.Consumer;
 import io.turbine.core.errors.exceptions.http.HttpException;
 import io.turbine.core.errors.exceptions.http.ServerErrorException;
+import io.turbine.core.errors.exceptions.router.RequestMappingException;
 import io.turbine.core.errors.handling.ExceptionHandler;
-import io.turbine.core.json.JsonFormat;
+import io.turbine.core.utils.SingleFlight;
 import io.turbine.core.verticles.behaviors.WebVerticle;
+import io.turbine.core.web.admission.AdmissionController;
+import io.turbine.core.web.admission.FixedLimit;
+import io.turbine.core.web.admission.Limit;
+import io.turbine.core.web.admission.VegasLimit;
+import io.turbine.core.web.cache.CachePolicy;
+import io.turbine.core.web.cache.CachedResponse;
+import io.turbine.core.web.cache.ResponseCache;
+import io.turbine.core.web.execution.ExecuteOn;
+import io.turbine.core.web.execution.ExecutionPool;
+import io.turbine.core.web.handlers.BufferPrinter;
+import io.turbine.core.web.handlers.ChunkedResponseWriter;
 import io.turbine.core.web.handlers.RequestHandler;
 import io.turbine.core.web.handlers.ResponseAdapter;
 import io.turbine.core.web.handlers.ResponsePrinter;
-import io.turbine.core.web.handlers.ResponseTypeEnum;
+import io.turbine.core.web.handlers.ResponseSizeHint;
+import io.turbine.core.web.mapping.MethodBinding;
 import io.turbine.core.web.mapping.RequestHandling;
 import io.turbine.core.web.mapping.RequestHandlingHelper;
 import io.turbine.core.web.router.ReactiveRouter;
 import io.turbine.core.web.router.Response;
+import io.turbine.core.web.router.RouteTrie;
 import io.vertx.core.Context;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.reactivex.core.RxHelper;
 import io.vertx.reactivex.core.http.HttpServer;
+import io.vertx.reactivex.core.http.HttpServerRequest;
+import io.vertx.reactivex.core.http.HttpServerResponse;
 import io.vertx.reactivex.ext.web.Router;
 import io.vertx.reactivex.ext.web.RoutingContext;
 import io.vertx.reactivex.ext.web.handler.BodyHandler;
 import io.vertx.reactivex.ext.web.handler.CorsHandler;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static io.reactivex.Single.just;
+import static io.turbine.core.web.HttpConstants.RequestHeaders.ACCEPT_ENCODING;
+import static io.turbine.core.web.HttpConstants.RequestHeaders.IF_MODIFIED_SINCE;
+import static io.turbine.core.web.HttpConstants.RequestHeaders.IF_NONE_MATCH;
+import static io.turbine.core.web.HttpConstants.ResponseHeaders.CACHE_CONTROL;
+import static io.turbine.core.web.HttpConstants.ResponseHeaders.CONTENT_ENCODING;
+import static io.turbine.core.web.HttpConstants.ResponseHeaders.CONTENT_LENGTH;
+import static io.turbine.core.web.HttpConstants.ResponseHeaders.CONTENT_TYPE;
+import static io.turbine.core.web.HttpConstants.ResponseHeaders.ETAG;
+import static io.turbine.core.web.HttpConstants.ResponseHeaders.LAST_MODIFIED;
+import static io.turbine.core.web.HttpConstants.ResponseHeaders.VARY;
+import static io.turbine.core.web.HttpConstants.ResponseStatus.NOT_MODIFIED;
+import static io.turbine.core.web.HttpConstants.ResponseStatus.OK;
 import static io.turbine.core.web.router.Response.ok;
+import static java.util.Collections.unmodifiableMap;
 
 /**
  * TODO Docstrings to rewrite *
@@ -44,6 +83,26 @@ public abstract class BaseWebVerticle extends BaseHttpVerticle implements WebVer
      */
     private ReactiveRouter router;
 
+    /**
+     * The cache of the responses of the routes with a max age
+     */
+    private ResponseCache responseCache;
+
+    /**
+     * The pools blocking request handling methods are offloaded to, by name
+     */
+    private final Map<String, ExecutionPool> executionPools = new LinkedHashMap<>();
+
+    /**
+     * The execution mode declared by the routes of each pool
+     */
+    private final Map<String, ExecuteOn> executionModes = new HashMap<>();
+
+    /**
+     * The admission controllers of the routes, by route
+     */
+    private final Map<String, AdmissionController> admissionControllers = new LinkedHashMap<>();
+
 
     /**
      * {@inheritDoc}
@@ -80,52 +139,263 @@ public abstract class BaseWebVerticle extends BaseHttpVerticle implements WebVer
                 router.route().handler(corsHandler());
             }
         }
+        responseCache = new ResponseCache(readConfig("http.cache.max-entries", 1000));
         applyRequestMappings();
     }
 
+    /**
+     * The cache of the responses of the routes declaring a max age.
+     * @return The ResponseCache instance
+     */
+    public final ResponseCache responseCache() {
+        return responseCache;
+    }
+
+    /**
+     * The pools the blocking request handling methods of the verticle are offloaded to.
+     * @return An unmodifiable map of the execution pools, by name
+     */
+    public final Map<String, ExecutionPool> executionPools() {
+        return unmodifiableMap(executionPools);
+    }
+
+    /**
+     * The admission controllers of the routes of the verticle, holding their
+     * in-flight, queued and rejected requests counts.
+     * @return An unmodifiable map of the admission controllers, by route ("METHOD path")
+     */
+    public final Map<String, AdmissionController> admissionControllers() {
+        return unmodifiableMap(admissionControllers);
+    }
+
     @Override
     public CorsHandler corsHandler() {
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean prettyJson() {
+        return readConfig("json.pretty", false);
+    }
+
     private void applyRequestMappings() {
         Map<RequestHandling, Method> mappings =
                 RequestHandlingHelper.findMappings(this, true);
 
+        /* Optionally, all the routes are dispatched by a single route looking them up in a tree */
+        final RouteTrie<Handler<RoutingContext>> routeTrie = readConfig("http.router.trie", false) ?
+                new RouteTrie<>() : null;
+
         mappings.forEach((mapping, method) -> {
-            Flowable<RoutingContext> flowable = router()
-                .route(mapping.method(), mapping.path())
-                .toFlowable(mapping.strategy());
-
-            @SuppressWarnings("unchecked") final RequestHandler requestHandler = (rc) -> {
-                try {
-                    /* In case of raw response (not wrapped in a Response object),
-                     * we create a 200 OK by default */
-                    Object[] params = RequestHandlingHelper.interpolateParams(method, rc);
-                    Single single = (Single) method.invoke(this, params);
-                    return single.map(value -> (value instanceof Response) ? value : ok(value) )
-                            .onErrorResumeNext(defaultExceptionHandler);
-                } catch (ReflectiveOperationException ex) {
-                    throw new RuntimeException("Unable to call the action method " + method + ".", ex);
-                }
-            };
-            register(
-                    flowable.doOnNext( getSuitableResponseTypeHandler(mapping.type(), requestHandler))
-                            .subscribe());
-            logger.info("Mapped route {} {} to method {}() (using {} strategy).",
-                    mapping.method(), mapping.path(), method.getName(), mapping.strategy());
+            /* The concurrent requests of the route are bounded, the excess is shed with a 503 */
+            final AdmissionController admission = admissionController(mapping);
+
+            /* The binding plan is compiled once, so the request
+             * handling does not involve any reflection */
+            final MethodBinding binding;
+            try {
+                binding = RequestHandlingHelper.compile(this, method);
+            } catch (RuntimeException cause) {
+                throw new RequestMappingException(getClass(), method, mapping, cause);
+            }
+
+            if (RequestHandlingHelper.isStream(method)) {
+                mount(routeTrie, mapping, method, routeHandler(streamResponse(mapping, binding, admission)));
+                logger.info("Mapped route {} {} to streaming method {}() ({} format, {} in flight, {} queued).",
+                        mapping.method(), mapping.path(), method.getName(), mapping.streamFormat(),
+                        admission.maxInFlight(), admission.maxQueued());
+                return;
+            }
+
+            /* Identical requests in flight share the same method call */
+            final SingleFlight<List<Object>, Object> flights = mapping.coalesce() ? new SingleFlight<>() : null;
+
+            /* Blocking methods are called out of the event loop */
+            final ExecutionPool pool;
+            try {
+                pool = executionPool(mapping);
+            } catch (IllegalArgumentException cause) {
+                throw new RequestMappingException(getClass(), method, mapping, cause);
+            }
+
+            final RequestHandler requestHandler = (rc) ->
+                    admission.admit(Single.defer(() -> invoke(binding, rc, flights, pool)),
+                            () -> rc.response().closed())
+                        /* In case of raw response (not wrapped in a Response object),
+                         * we create a 200 OK by default */
+                        .map(value -> (value instanceof Response) ? (Response) value : ok(value))
+                        .onErrorResumeNext(defaultExceptionHandler);
+
+            mount(routeTrie, mapping, method,
+                    routeHandler(getSuitableResponseTypeHandler(mapping, method, requestHandler)));
+            logger.info("Mapped route {} {} to method {}() ({} in flight, {} queued{}{}).",
+                    mapping.method(), mapping.path(), method.getName(),
+                    admission.maxInFlight(), admission.maxQueued(),
+                    mapping.coalesce() ? ", coalesced" : "",
+                    (pool != null) ? ", on " + pool.executeOn() + " pool " + pool.name() : "");
         });
         logger.info("Found {} request handling mapping(s) for this verticle", mappings.size());
+
+        if (routeTrie != null) {
+            router().route().handler(dispatcher(routeTrie));
+            logger.info("The {} route(s) of this verticle are dispatched by a route tree", routeTrie.size());
+        }
+    }
+
+    /**
+     * Mount the handler of a mapped route, either on its own Vert.x route or in the route tree.
+     */
+    private void mount(RouteTrie<Handler<RoutingContext>> routeTrie,
+                       RequestHandling mapping, Method method, Handler<RoutingContext> handler) {
+        if (routeTrie == null) {
+            router().route(mapping.method(), mapping.path()).handler(handler);
+            return;
+        }
+        try {
+            routeTrie.add(mapping.method(), mapping.path(), handler);
+        } catch (IllegalArgumentException cause) {
+            throw new RequestMappingException(getClass(), method, mapping, cause);
+        }
+    }
+
+    /**
+     * Create the handler dispatching the requests to the routes of a route tree.
+     * The path parameters of the matching route are set on the routing context, where the
+     * method bindings read them. Unmatched requests go on to the next Vert.x routes.
+     * @param routeTrie The tree of the mapped routes
+     * @return The dispatching handler
+     */
+    private Handler<RoutingContext> dispatcher(RouteTrie<Handler<RoutingContext>> routeTrie) {
+        return rc -> {
+            final RouteTrie.Match<Handler<RoutingContext>> match =
+                    routeTrie.lookup(rc.request().method(), rc.normalisedPath());
+            if (match == null) {
+                rc.next();
+                return;
+            }
+            rc.pathParams().putAll(match.params());
+            match.handler().handle(rc);
+        };
+    }
+
+    private Handler<RoutingContext> routeHandler(Consumer<RoutingContext> handler) {
+        return rc -> {
+            try {
+                handler.accept(rc);
+            } catch (Exception ex) {
+                rc.fail(ex);
+            }
+        };
+    }
+
+    /**
+     * Create the admission controller of a route, with the limits declared by its
+     * mapping or else read from the "http.admission" configuration block.
+     * When "http.admission.adaptive" is enabled, the concurrency limit of the route adapts
+     * to its latency, between "min-limit" and its max in flight.
+     * @param mapping The request mapping of the route
+     * @return The admission controller of the route
+     */
+    private AdmissionController admissionController(RequestHandling mapping) {
+        final String name = mapping.method() + " " + mapping.path();
+        final int maxInFlight = (mapping.maxInFlight() >= 0) ?
+                mapping.maxInFlight() : readConfig("http.admission.max-in-flight", 1000);
+
+        final Limit limit = readConfig("http.admission.adaptive", false) ?
+                new VegasLimit(readConfig("http.admission.initial-limit", 20),
+                        readConfig("http.admission.min-limit", 1), maxInFlight) :
+                new FixedLimit(maxInFlight);
+
+        final AdmissionController admission = new AdmissionController(name, limit,
+                (mapping.maxQueued() >= 0) ? mapping.maxQueued() : readConfig("http.admission.max-queued", 1000),
+                readConfig("http.admission.retry-after", 1));
+        admissionControllers.put(name, admission);
+        return admission;
+    }
+
+    private Single<?> invoke(MethodBinding binding, RoutingContext rc,
+                             SingleFlight<List<Object>, Object> flights, ExecutionPool pool) {
+        try {
+            final Object[] args = binding.bind(rc);
+            if (flights == null) {
+                return invoke(binding, args, pool);
+            }
+            return flights.execute(binding.key(rc, args), () -> invoke(binding, args, pool));
+        } catch (Throwable t) {
+            return Single.error(t);
+        }
+    }
+
+    private Single<Object> invoke(MethodBinding binding, Object[] args, ExecutionPool pool) {
+        return (pool == null) ? invoke(binding, args) : pool.execute(() -> invoke(binding, args));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Single<Object> invoke(MethodBinding binding, Object[] args) {
+        try {
+            return (Single<Object>) binding.invoke(args);
+        } catch (Throwable t) {
+            return Single.error(t);
+        }
+    }
+
+    /**
+     * Get the pool a request handling method is offloaded to, creating it on first use.
+     * All the routes sharing a pool must declare the same execution mode.
+     * @param mapping The request mapping of the route
+     * @return The execution pool, or null if the method is called on the event loop
+     * @throws IllegalArgumentException The pool is already declared with another execution mode
+     */
+    private ExecutionPool executionPool(RequestHandling mapping) {
+        if (mapping.executeOn() == ExecuteOn.EVENT_LOOP) {
+            return null;
+        }
+        final ExecuteOn declared = executionModes.putIfAbsent(mapping.pool(), mapping.executeOn());
+        if (declared != null && declared != mapping.executeOn()) {
+            throw new IllegalArgumentException("The execution pool " + mapping.pool() + " is already declared on "
+                    + declared + " by another route, it cannot be used on " + mapping.executeOn());
+        }
+        return executionPools.computeIfAbsent(mapping.pool(), name -> {
+            final int size = readConfig("http.execution." + name + ".size", 20);
+            final int queueSize = readConfig("http.execution." + name + ".queue-size", 100);
+
+            ExecutionPool pool = null;
+            if (mapping.executeOn() == ExecuteOn.VIRTUAL_THREAD) {
+                pool = ExecutionPool.virtualThreads(name, size, queueSize);
+                if (pool == null) {
+                    logger.warn("Virtual threads are not supported by this JVM, the pool {} uses worker threads", name);
+                }
+            }
+            if (pool == null) {
+                pool = ExecutionPool.worker(vertx.getDelegate(), name, size, queueSize);
+            }
+            register(Disposables.fromAction(pool::close));
+            return pool;
+        });
+    }
+
+    private Flowable<?> stream(MethodBinding binding, RoutingContext rc) {
+        try {
+            Object stream = binding.invoke(rc);
+            return (stream instanceof Observable) ?
+                    ((Observable<?>) stream).toFlowable(BackpressureStrategy.BUFFER) :
+                    (Flowable<?>) stream;
+        } catch (Throwable t) {
+            return Flowable.error(t);
+        }
     }
 
     private Consumer<RoutingContext>
-    getSuitableResponseTypeHandler(ResponseTypeEnum responseType, RequestHandler requestHandler)
+    getSuitableResponseTypeHandler(RequestHandling mapping, Method method, RequestHandler requestHandler)
     {
-        switch (responseType) {
+        switch (mapping.type()) {
             case XML: return xmlResponse(requestHandler);
-            case TEXT: return textResponse(requestHandler);
+            case TEXT: return textResponse(requestHandler, CachePolicy.of(mapping, method));
             default:
-                return jsonResponse(requestHandler);
+                return jsonResponse(requestHandler, mapping.pretty() || prettyJson(), CachePolicy.of(mapping, method));
         }
     }
 
@@ -135,10 +405,22 @@ public abstract class BaseWebVerticle extends BaseHttpVerticle implements WebVer
 
     protected Consumer<RoutingContext>
     jsonResponse(RequestHandler requestHandler) {
+        return jsonResponse(requestHandler, prettyJson());
+    }
+
+    protected Consumer<RoutingContext>
+    jsonResponse(RequestHandler requestHandler, boolean pretty) {
+        return jsonResponse(requestHandler, pretty, null);
+    }
+
+    protected Consumer<RoutingContext>
+    jsonResponse(RequestHandler requestHandler, boolean pretty, CachePolicy cachePolicy) {
+        /* The JSON is written once, straight into the response buffer */
         return response(
                 ResponseAdapter.jsonAdapter(),
-                JsonFormat::printJson,
-                requestHandler);
+                BufferPrinter.json(pretty),
+                requestHandler,
+                cachePolicy);
     }
 
     protected Consumer<RoutingContext>
@@ -148,30 +430,170 @@ public abstract class BaseWebVerticle extends BaseHttpVerticle implements WebVer
 
     protected Consumer<RoutingContext>
     textResponse(RequestHandler requestHandler) {
+        return textResponse(requestHandler, null);
+    }
+
+    protected Consumer<RoutingContext>
+    textResponse(RequestHandler requestHandler, CachePolicy cachePolicy) {
         return response(
                 ResponseAdapter.plainTextAdapter(),
-                Object::toString,
-                requestHandler);
+                BufferPrinter.of(Object::toString),
+                requestHandler,
+                cachePolicy);
     }
 
-    private Consumer<RoutingContext>
+    protected Consumer<RoutingContext>
     response(ResponseAdapter adapter,
              ResponsePrinter printer,
              RequestHandler requestHandler) {
+        return response(adapter, BufferPrinter.of(printer), requestHandler);
+    }
+
+    protected Consumer<RoutingContext>
+    response(ResponseAdapter adapter,
+             BufferPrinter printer,
+             RequestHandler requestHandler) {
+        return response(adapter, printer, requestHandler, null);
+    }
+
+    /**
+     * Create the handler of a route, writing the responses supplied by the request handler.
+     * @param adapter Sets the response headers
+     * @param printer Serializes the response bodies
+     * @param requestHandler Supplies the responses
+     * @param cachePolicy The caching policy of the route, or null if its responses are not cached
+     * @return The route handler
+     */
+    protected Consumer<RoutingContext>
+    response(ResponseAdapter adapter,
+             BufferPrinter printer,
+             RequestHandler requestHandler,
+             CachePolicy cachePolicy) {
+        /* Each route sizes its response buffers from its previous responses */
+        final ResponseSizeHint sizeHint = new ResponseSizeHint();
+
         return rc -> {
+            adapter.accept(rc.response());
+
+            final String cacheKey = (cachePolicy != null) ? cachePolicy.keyOf(rc.request()) : null;
+            if (cacheKey != null) {
+                CachedResponse cached = responseCache.get(cacheKey, System.nanoTime());
+                if (cached != null) {
+                    writeCachedResponse(rc, cached, cachePolicy);
+                    return;
+                }
+            }
+
             Single<Response> response = requestHandler.apply(rc);
+            register(response.subscribe(rp -> {
+                Buffer body = printer.print(rp.body(), sizeHint.get());
+                sizeHint.record(body.length());
 
-            adapter.accept(rc.response());
-            register(response.subscribe(rp ->
-                    writeResponse(rc, printer.apply(rp.body()), rp.statusCode())
-            ));
+                if (cacheKey != null && rp.statusCode() == OK) {
+                    CachedResponse cached = new CachedResponse(body,
+                            rc.response().headers().get(CONTENT_TYPE),
+                            System.nanoTime() + cachePolicy.maxAgeNanos());
+                    responseCache.put(cacheKey, cached);
+                    writeCachedResponse(rc, cached, cachePolicy);
+                } else {
+                    putErrorHeaders(rc, rp);
+                    writeResponse(rc, body, rp.statusCode());
+                }
+            }));
         };
     }
 
-    private void writeResponse(RoutingContext rc, String body, int statusCode) {
+    /**
+     * Add the headers an HTTP error requires to its response (for instance Retry-After).
+     */
+    private void putErrorHeaders(RoutingContext rc, Response rp) {
+        if (rp.body() instanceof HttpException) {
+            ((HttpException) rp.body()).headers().forEach(rc.response()::putHeader);
+        }
+    }
+
+    /**
+     * Write a cached response along with its validators, or a 304 Not Modified
+     * if the client copy is still valid.
+     */
+    private void writeCachedResponse(RoutingContext rc, CachedResponse cached, CachePolicy cachePolicy) {
+        final HttpServerRequest request = rc.request();
+        final HttpServerResponse response = rc.response();
+        if (cachePolicy.varyHeader() != null) {
+            addVary(response, cachePolicy.varyHeader());
+        }
+        final String encoding = negotiateEncoding(rc, cached.contentType(), cached.body().length());
+
+        response.putHeader(CACHE_CONTROL, cachePolicy.cacheControl(cached.remainingSeconds(System.nanoTime())))
+                .putHeader(ETAG, cached.etag(encoding))
+                .putHeader(LAST_MODIFIED, cached.lastModifiedHeader());
+
+        if (cached.isNotModified(request.getHeader(IF_NONE_MATCH), request.getHeader(IF_MODIFIED_SINCE))) {
+            response.setStatusCode(NOT_MODIFIED).end();
+        } else {
+            /* Compressed bodies are kept in the cache entry, so they are only compressed once */
+            endResponse(rc, cached.body(encoding, compression()::compress), OK);
+        }
+    }
+
+    /**
+     * Write the items of a stream as a chunked response, following the demand of the client.
+     * The items are observed on the verticle context, whatever the thread they are emitted from.
+     * @param mapping The request mapping of the route
+     * @param binding The binding of the streaming method
+     * @return The route handler
+     */
+    private Consumer<RoutingContext>
+    streamResponse(RequestHandling mapping, MethodBinding binding, AdmissionController admission) {
+        final Scheduler scheduler = RxHelper.scheduler(new io.vertx.reactivex.core.Context(context));
+        final BufferPrinter errorPrinter = BufferPrinter.json(prettyJson());
+
+        return rc -> {
+            /* Until the first item is written, a failure is still reported as a regular response */
+            final Consumer<Throwable> failureHandler = t ->
+                register(defaultExceptionHandler.apply(t).subscribe(rp -> {
+                    ResponseAdapter.jsonAdapter().accept(rc.response());
+                    putErrorHeaders(rc, rp);
+                    writeResponse(rc, errorPrinter.print(rp.body(), 0), rp.statusCode());
+                }));
+
+            admission.admit(Flowable.defer(() -> stream(binding, rc)), () -> rc.response().closed())
+                    .observeOn(scheduler)
+                    .subscribe(new ChunkedResponseWriter(rc.response(), mapping.streamFormat(), failureHandler));
+        };
+    }
+
+    private void writeResponse(RoutingContext rc, Buffer body, int statusCode) {
+        final String encoding = negotiateEncoding(rc, rc.response().headers().get(CONTENT_TYPE), body.length());
+        endResponse(rc, (encoding == null) ? body : compression().compress(body, encoding), statusCode);
+    }
+
+    /**
+     * Choose the content encoding of a response body, and set the related headers.
+     * @return The content encoding, or null if the body is sent as is
+     */
+    private String negotiateEncoding(RoutingContext rc, String contentType, int length) {
+        if (!compression().isCompressible(contentType, length)) {
+            return null;
+        }
+        addVary(rc.response(), ACCEPT_ENCODING);
+        final String encoding = compression().negotiate(rc.request().getHeader(ACCEPT_ENCODING), contentType, length);
+        if (encoding != null) {
+            rc.response().putHeader(CONTENT_ENCODING, encoding);
+        }
+        return encoding;
+    }
+
+    private void addVary(HttpServerResponse response, String headers) {
+        final String vary = response.headers().get(VARY);
+        response.putHeader(VARY, (vary == null) ? headers : vary + ", " + headers);
+    }
+
+    private void endResponse(RoutingContext rc, Buffer body, int statusCode) {
         rc.response()
                 .setStatusCode(statusCode)
-                .end(body);
+                .putHeader(CONTENT_LENGTH, String.valueOf(body.length()))
+                .end(io.vertx.reactivex.core.buffer.Buffer.newInstance(body));
     }
 
     private ExceptionHandler defaultExceptionHandler = t -> {
@@ -2,6 +2,7 @@ package io.turbine.core.verticles.behaviors;
 
 import io.reactivex.Single;
 import io.turbine.core.jdbc.queries.QueryBuilder;
+import io.turbine.core.jdbc.queries.QueryKind;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.sql.SQLOptions;
 import io.vertx.reactivex.ext.sql.SQLConnection;
@@ -40,9 +41,20 @@ public interface DataVerticle {
      */
     SQLOptions sqlOptions();
 
+    /**
+     * Defines the SQL Options of a kind of statement, set to the connection
+     * before the statement is executed.
+     * @param kind The kind of statement
+     * @see QueryKind
+     * @return A SQLOptions instance
+     */
+    SQLOptions sqlOptions(QueryKind kind);
+
     /**
      * Create a single source object, that will emit a SQLConnection
      * instance when the client has correctly initialized it.
+     * The connection must be closed by the subscriber, to return it to the pool, unless
+     * it is passed to an execution of the query builder, which closes it once done.
      * @return A Single source that emits a SQLConnection instance.
      */
     Single<SQLConnection> connect();
@@ -2,6 +2,7 @@ package io.turbine.core.verticles.behaviors;
 
 import io.reactivex.Single;
 import io.turbine.core.verticles.BaseHttpVerticle;
+import io.turbine.core.web.compression.ResponseCompression;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.net.JksOptions;
 import io.vertx.reactivex.core.http.HttpServer;
@@ -66,4 +67,11 @@ public interface HttpVerticle extends Verticle {
      * @return The default port to listen
      */
     int port();
+
+    /**
+     * Gives the compression settings of the responses, according to
+     * the configuration.
+     * @return A ResponseCompression instance
+     */
+    ResponseCompression compression();
 }
@@ -23,4 +23,10 @@ public interface Verticle extends io.vertx.core.Verticle, Composite<Verticle> {
      * @return A completable completed when the verticle has succeeded its stopping process
      */
     Completable rxStop();
+
+    /**
+     * The identifier of the verticle deployment.
+     * @return The deployment identifier, or null if the verticle is not deployed
+     */
+    String deploymentID();
 }
@@ -2,7 +2,11 @@ package io.turbine.core.verticles.behaviors;
 
 import io.reactivex.Completable;
 import io.turbine.core.errors.exceptions.ws.WebSocketException;
+import io.turbine.core.ws.SlowConsumerPolicy;
 import io.turbine.core.ws.WsConnection;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.List;
 
 /**
  * A WebSocket messaging room.
@@ -37,6 +41,21 @@ public interface WebSocketRoom<S, R, B> extends WebSocketVerticle<S, B> {
      */
     void connect(WsConnection<S> connection) throws WebSocketException;
 
+    /**
+     * Sends the WebSocket connections to the room, from the event loop of the room.
+     * @param connection The WS client connection
+     * @return A Completable completed once the client has joined the room,
+     *   or failed with a WebSocketException if the room rejected it
+     */
+    Completable rxConnect(WsConnection<S> connection);
+
+    /**
+     * Broadcast the messages relayed from another node to the clients of the room,
+     * from the event loop of the room.
+     * @param payloads The serialized messages, in order
+     */
+    void deliver(List<Buffer> payloads);
+
     /**
      * Set the capacity of the room, which means the maximum
      * amount of client that can connects simultaneously to it.
@@ -63,6 +82,18 @@ public interface WebSocketRoom<S, R, B> extends WebSocketVerticle<S, B> {
      */
     long messagesCount();
 
+    /**
+     * Returns the maximum number of messages waiting to be written to each client.
+     * @return The outbound queue capacity of the connections
+     */
+    int outboundCapacity();
+
+    /**
+     * Returns the policy applied to the clients whose outbound queue is full.
+     * @return The slow consumer policy
+     */
+    SlowConsumerPolicy slowConsumerPolicy();
+
     /**
      * The room identifier.
      * @return The identifier
@@ -3,6 +3,9 @@ package io.turbine.core.verticles.behaviors;
 import io.reactivex.Observable;
 import io.turbine.core.ws.Message;
 import io.turbine.core.ws.WsConnection;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.List;
 
 /**
  * Defines the behavioral specification of a Web Socket Verticle,
@@ -30,6 +33,18 @@ public interface WebSocketVerticle<S, B> extends Verticle {
      */
     void broadcast(Message<S, B> message);
 
+    /**
+     * Send a batch of messages to all the clients, as a single JSON array.
+     * @param batch The messages to broadcast, in order
+     */
+    void broadcast(List<Message<S, B>> batch);
+
+    /**
+     * Send an already serialized message to all the clients.
+     * @param payload The JSON encoded message
+     */
+    void broadcast(Buffer payload);
+
     /**
      * The reactive observable source of new client connections.
      * @return An Observable of WsConnection
@@ -23,4 +23,11 @@ public interface WebVerticle extends HttpVerticle {
      * @return An instance of CorsHandler
      */
     CorsHandler corsHandler();
+
+    /**
+     * Indicates whether JSON responses are pretty-printed for all the routes
+     * of the verticle, according to the configuration.
+     * @return true to pretty print JSON responses, false to write compact JSON
+     */
+    boolean prettyJson();
 }
@@ -5,19 +5,33 @@ public final class HttpConstants {
     public static class ContentTypes {
         public static final String APPLICATION_XML = "application/xml";
         public static final String APPLICATION_JSON = "application/json";
+        public static final String APPLICATION_NDJSON = "application/x-ndjson";
         public static final String TEXT_PLAIN = "text/plain";
     }
 
     public static class ResponseStatus {
+        public static final int OK = 200;
+        public static final int NOT_MODIFIED = 304;
         public static final int BAD_REQUEST = 400;
         public static final int INTERNAL_SERVER_ERROR = 500;
+        public static final int SERVICE_UNAVAILABLE = 503;
     }
 
     public static class ResponseHeaders {
         public static final String CONTENT_TYPE = "Content-Type";
+        public static final String CONTENT_LENGTH = "Content-Length";
+        public static final String CONTENT_ENCODING = "Content-Encoding";
+        public static final String CACHE_CONTROL = "Cache-Control";
+        public static final String ETAG = "ETag";
+        public static final String LAST_MODIFIED = "Last-Modified";
+        public static final String VARY = "Vary";
+        public static final String RETRY_AFTER = "Retry-After";
     }
 
     public static class RequestHeaders {
         public static final String AUTHORIZATION = "Authorization";
+        public static final String ACCEPT_ENCODING = "Accept-Encoding";
+        public static final String IF_NONE_MATCH = "If-None-Match";
+        public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
     }
 }
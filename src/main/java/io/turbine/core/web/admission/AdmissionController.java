@@ -0,0 +1,349 @@
+package io.turbine.core.web.admission;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.functions.Action;
+import io.turbine.core.errors.exceptions.http.ServiceUnavailableException;
+import io.turbine.core.metrics.Histogram;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bounds the number of requests of a route handled at the same time.
+ *
+ * Up to limit requests are handled concurrently, the limit being either fixed or adapted
+ * from the observed latencies (see {@link VegasLimit}). Beyond that, requests wait in a
+ * bounded FIFO queue until a handled request completes; once the queue is full, requests
+ * are rejected at once with a ServiceUnavailableException (503) carrying a Retry-After
+ * delay, rather than being left hanging. Queued requests whose client has gone away are
+ * skipped when their turn comes.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class AdmissionController {
+
+    /**
+     * The name of the controlled route
+     */
+    private final String name;
+
+    /**
+     * The maximum number of requests handled at the same time
+     */
+    private final Limit limit;
+
+    /**
+     * The maximum number of requests waiting to be handled
+     */
+    private final int maxQueued;
+
+    /**
+     * The delay suggested to the rejected clients before retrying, in seconds
+     */
+    private final int retryAfter;
+
+    /**
+     * The requests waiting to be handled, in arrival order
+     */
+    private final Deque<Admission> queue = new ArrayDeque<>();
+
+    /**
+     * The waiting times of the admitted requests
+     */
+    private final Histogram waits = new Histogram();
+
+    /**
+     * The handling times of the admitted requests, the samples of the limit
+     */
+    private final Histogram latencies = new Histogram();
+
+    private int inFlight;
+
+    private long admitted;
+
+    private long rejected;
+
+    private long abandoned;
+
+    /**
+     * Whether a thread is starting queued requests : a started request may complete
+     * synchronously, and release its permit in turn, so queued requests are started
+     * in a loop rather than recursively.
+     */
+    private boolean draining;
+
+    public AdmissionController(String name, int maxInFlight, int maxQueued, int retryAfter) {
+        this(name, new FixedLimit(maxInFlight), maxQueued, retryAfter);
+    }
+
+    public AdmissionController(String name, Limit limit, int maxQueued, int retryAfter) {
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Invalid admission queue size for the route " + name);
+        }
+        this.name = name;
+        this.limit = limit;
+        this.maxQueued = maxQueued;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Wait for a permit to handle a request. The permit must be released, by running
+     * the emitted action, once the request is handled.
+     * @param abandoned Tells whether the client of the request has gone away
+     * @return A single of the action releasing the permit, or failing with a
+     *  ServiceUnavailableException if the route is saturated
+     */
+    public Single<Action> acquire(BooleanSupplier abandoned) {
+        return permit(abandoned).map(permit -> permit);
+    }
+
+    private Single<Permit> permit(BooleanSupplier abandoned) {
+        return Single.create(emitter -> {
+            final long arrival = System.nanoTime();
+            final Admission admission = () -> {
+                if (emitter.isDisposed() || abandoned.getAsBoolean()) {
+                    return false;
+                }
+                final int concurrency;
+                synchronized (this) {
+                    admitted++;
+                    concurrency = inFlight;
+                }
+                final long start = System.nanoTime();
+                waits.record(start - arrival);
+                emitter.onSuccess(new Permit(start, concurrency));
+                return true;
+            };
+            emitter.setCancellable(() -> cancel(admission));
+
+            final boolean admitNow;
+            synchronized (this) {
+                /* The queued requests come first */
+                if (inFlight < limit.limit() && queue.isEmpty()) {
+                    inFlight++;
+                    admitNow = true;
+                } else if (queue.size() < maxQueued) {
+                    queue.add(admission);
+                    admitNow = false;
+                } else {
+                    rejected++;
+                    emitter.onError(new ServiceUnavailableException(
+                            "The route " + name + " is saturated, please retry later.", retryAfter));
+                    return;
+                }
+            }
+            if (admitNow && !admission.start()) {
+                synchronized (this) {
+                    inFlight--;
+                }
+                drain();
+            }
+        });
+    }
+
+    /**
+     * Handle a request once admitted, releasing its permit when it terminates.
+     * @param work The request handling, subscribed once the request is admitted
+     * @param abandoned Tells whether the client of the request has gone away
+     * @param <T> The type of the result
+     * @return The admitted request handling
+     */
+    public <T> Single<T> admit(Single<T> work, BooleanSupplier abandoned) {
+        return permit(abandoned).flatMap(permit -> work
+                .doOnError(permit::onError)
+                .doFinally(permit));
+    }
+
+    /**
+     * Handle a streamed request once admitted, releasing its permit when the stream terminates.
+     * @param work The request handling, subscribed once the request is admitted
+     * @param abandoned Tells whether the client of the request has gone away
+     * @param <T> The type of the items
+     * @return The admitted request handling
+     */
+    public <T> Flowable<T> admit(Flowable<T> work, BooleanSupplier abandoned) {
+        return permit(abandoned).flatMapPublisher(permit -> work
+                .doOnError(permit::onError)
+                .doFinally(permit));
+    }
+
+    private synchronized void cancel(Admission admission) {
+        queue.remove(admission);
+    }
+
+    /**
+     * Release a permit, sampling the handling time of its request, then start the
+     * queued requests the limit allows.
+     */
+    private void release(long rtt, int concurrency, boolean dropped) {
+        latencies.record(rtt);
+        synchronized (this) {
+            inFlight--;
+            limit.onSample(rtt, concurrency, dropped);
+        }
+        drain();
+    }
+
+    /**
+     * Start queued requests while the limit allows it.
+     */
+    private void drain() {
+        synchronized (this) {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            final Admission next;
+            synchronized (this) {
+                if (queue.isEmpty() || inFlight >= limit.limit()) {
+                    draining = false;
+                    return;
+                }
+                next = queue.poll();
+                inFlight++;
+            }
+            if (!next.start()) {
+                synchronized (this) {
+                    abandoned++;
+                    inFlight--;
+                }
+            }
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * The concurrency limit of the route.
+     * @return The Limit instance
+     */
+    public Limit limit() {
+        return limit;
+    }
+
+    /**
+     * The current maximum number of requests handled at the same time.
+     * @return The current limit
+     */
+    public synchronized int maxInFlight() {
+        return limit.limit();
+    }
+
+    public int maxQueued() {
+        return maxQueued;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queued() {
+        return queue.size();
+    }
+
+    public synchronized long admitted() {
+        return admitted;
+    }
+
+    public synchronized long rejected() {
+        return rejected;
+    }
+
+    /**
+     * The number of queued requests skipped because their client had gone away.
+     * @return The count of abandoned requests
+     */
+    public synchronized long abandoned() {
+        return abandoned;
+    }
+
+    /**
+     * The waiting times of the admitted requests, until they are handled.
+     * @return The histogram of the waiting times
+     */
+    public Histogram waits() {
+        return waits;
+    }
+
+    /**
+     * The handling times of the admitted requests, from their admission to their completion.
+     * @return The histogram of the latencies
+     */
+    public Histogram latencies() {
+        return latencies;
+    }
+
+    public synchronized JsonObject toJson() {
+        return new JsonObject()
+                .put("route", name)
+                .put("limit", limit.toJson())
+                .put("maxQueued", maxQueued)
+                .put("inFlight", inFlight)
+                .put("queued", queue.size())
+                .put("admitted", admitted)
+                .put("rejected", rejected)
+                .put("abandoned", abandoned)
+                .put("waits", waits.toJson())
+                .put("latencies", latencies.toJson());
+    }
+
+    /**
+     * A request waiting for its admission
+     */
+    @FunctionalInterface
+    private interface Admission {
+
+        /**
+         * Start handling the request, with the slot reserved for it.
+         * @return false if the request was given up, so the slot is still free
+         */
+        boolean start();
+    }
+
+    /**
+     * The permit of an admitted request, released only once
+     */
+    private final class Permit implements Action {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * The admission time of the request
+         */
+        private final long start;
+
+        /**
+         * The number of requests in flight when the request was admitted
+         */
+        private final int concurrency;
+
+        /**
+         * Whether the request failed because of an overload
+         */
+        private volatile boolean dropped;
+
+        private Permit(long start, int concurrency) {
+            this.start = start;
+            this.concurrency = concurrency;
+        }
+
+        private void onError(Throwable t) {
+            dropped = t instanceof ServiceUnavailableException;
+        }
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                release(System.nanoTime() - start, concurrency, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.turbine.core.web.admission;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A static concurrency limit.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class FixedLimit implements Limit {
+
+    private final int limit;
+
+    public FixedLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("The limit must be positive");
+        }
+        this.limit = limit;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public void onSample(long rtt, int inFlight, boolean dropped) {
+    }
+
+    @Override
+    public JsonObject toJson() {
+        return new JsonObject()
+                .put("type", "fixed")
+                .put("limit", limit);
+    }
+}
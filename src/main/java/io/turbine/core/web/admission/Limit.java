@@ -0,0 +1,36 @@
+package io.turbine.core.web.admission;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The concurrency limit of a route : the number of its requests allowed to be handled
+ * at the same time. Adaptive limits adjust it from the latency of the handled requests.
+ *
+ * The methods of a limit are called by its admission controller while holding its lock,
+ * so implementations need not be thread-safe.
+ *
+ * @see AdmissionController
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public interface Limit {
+
+    /**
+     * The current concurrency limit.
+     * @return The maximum number of requests in flight
+     */
+    int limit();
+
+    /**
+     * Update the limit from a handled request.
+     * @param rtt The time the request took to be handled, in nanoseconds
+     * @param inFlight The number of requests in flight when the request started
+     * @param dropped Whether the request failed because of an overload
+     */
+    void onSample(long rtt, int inFlight, boolean dropped);
+
+    /**
+     * The state of the limit, for monitoring purposes.
+     * @return A JsonObject describing the limit
+     */
+    JsonObject toJson();
+}
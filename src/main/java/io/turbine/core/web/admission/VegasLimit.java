@@ -0,0 +1,120 @@
+package io.turbine.core.web.admission;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * An adaptive concurrency limit, inspired by the TCP Vegas congestion control.
+ *
+ * The latency of a request handled without any contention (rttNoLoad) is estimated from
+ * the lowest latency observed. The gap between the latency of each request and this
+ * estimate tells how many requests are actually queued somewhere behind the route
+ * (threads, connection pools, remote services...) :
+ * <pre>queued = limit * (1 - rttNoLoad / rtt)</pre>
+ * The limit grows while few requests are queued, and shrinks when too many are, or
+ * when requests fail because of an overload. The no-load latency is probed again
+ * periodically, so that it follows the changes of the environment.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class VegasLimit implements Limit {
+
+    /**
+     * The number of samples between two probes of the no-load latency, by unit of limit
+     */
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    /**
+     * The current limit, adjusted by fractional steps
+     */
+    private double estimatedLimit;
+
+    /**
+     * The estimated latency without contention, in nanoseconds (0 if unknown yet)
+     */
+    private long rttNoLoad;
+
+    /**
+     * The samples since the last probe of the no-load latency
+     */
+    private int samples;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid bounds for the limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    @Override
+    public int limit() {
+        return (int) estimatedLimit;
+    }
+
+    @Override
+    public void onSample(long rtt, int inFlight, boolean dropped) {
+        if (rtt <= 0) {
+            return;
+        }
+        if (++samples > PROBE_MULTIPLIER * limit()) {
+            /* Forget the lowest latency, which may be obsolete */
+            samples = 0;
+            rttNoLoad = rtt;
+            return;
+        }
+        if (rttNoLoad == 0 || rtt < rttNoLoad) {
+            rttNoLoad = rtt;
+            return;
+        }
+
+        final double limit = estimatedLimit;
+        final double log = Math.max(1, Math.log10(limit));
+        final double newLimit;
+
+        if (dropped) {
+            newLimit = limit - log;
+        } else if (inFlight * 2 < limit) {
+            /* The route is not busy enough to tell anything about its capacity */
+            return;
+        } else {
+            final double queued = Math.ceil(limit * (1 - (double) rttNoLoad / rtt));
+            final double alpha = 3 * log;
+            final double beta = 6 * log;
+
+            if (queued <= log) {
+                newLimit = limit + beta;
+            } else if (queued < alpha) {
+                newLimit = limit + log;
+            } else if (queued > beta) {
+                newLimit = limit - log;
+            } else {
+                return;
+            }
+        }
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * The estimated latency of a request handled without contention.
+     * @return The no-load latency in nanoseconds, or 0 if unknown yet
+     */
+    public long rttNoLoad() {
+        return rttNoLoad;
+    }
+
+    @Override
+    public JsonObject toJson() {
+        return new JsonObject()
+                .put("type", "vegas")
+                .put("limit", limit())
+                .put("minLimit", minLimit)
+                .put("maxLimit", maxLimit)
+                .put("rttNoLoadMicros", rttNoLoad / 1_000);
+    }
+}
@@ -0,0 +1,141 @@
+package io.turbine.core.web.cache;
+
+import io.turbine.core.web.mapping.RequestHandling;
+import io.turbine.core.web.mapping.annotations.Bearer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.reactivex.core.http.HttpServerRequest;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.turbine.core.web.HttpConstants.RequestHeaders.AUTHORIZATION;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The caching policy of a route : how long its responses are fresh, which request
+ * headers they vary with, and whether shared caches may store them.
+ *
+ * The responses of a route reading the bearer token are specific to a user : they vary
+ * with the Authorization header, and are only stored by private caches.
+ *
+ * @see RequestHandling#maxAge()
+ * @see RequestHandling#vary()
+ * @see RequestHandling#publicCache()
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class CachePolicy {
+
+    /**
+     * The freshness lifetime of the responses, in seconds
+     */
+    private final int maxAge;
+
+    /**
+     * The names of the request headers the responses vary with
+     */
+    private final String[] vary;
+
+    /**
+     * Whether the responses may be stored by shared caches (proxies, CDN...)
+     */
+    private final boolean shared;
+
+    public CachePolicy(int maxAge, boolean shared, String... vary) {
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("The max age of cached responses must be positive.");
+        }
+        this.maxAge = maxAge;
+        this.vary = requireNonNull(vary, "vary").clone();
+        /* Responses varying with the credentials are never shared */
+        this.shared = shared && !varies(this.vary, AUTHORIZATION);
+    }
+
+    public CachePolicy(int maxAge, String... vary) {
+        this(maxAge, false, vary);
+    }
+
+    /**
+     * Get the caching policy of a route.
+     * @param mapping The request mapping of the route
+     * @param method The request handling method of the route
+     * @return The CachePolicy, or null if the responses of the route are not cached
+     */
+    public static CachePolicy of(RequestHandling mapping, Method method) {
+        if (mapping.maxAge() <= 0 || mapping.method() != HttpMethod.GET) {
+            return null;
+        }
+        final List<String> vary = new ArrayList<>();
+        for (String header : mapping.vary()) {
+            vary.add(header);
+        }
+        if (readsBearer(method) && !varies(mapping.vary(), AUTHORIZATION)) {
+            vary.add(AUTHORIZATION);
+        }
+        return new CachePolicy(mapping.maxAge(), mapping.publicCache(), vary.toArray(new String[0]));
+    }
+
+    private static boolean readsBearer(Method method) {
+        for (Parameter parameter : method.getParameters()) {
+            if (parameter.isAnnotationPresent(Bearer.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean varies(String[] vary, String header) {
+        for (String name : vary) {
+            if (name.equalsIgnoreCase(header)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int maxAge() {
+        return maxAge;
+    }
+
+    public long maxAgeNanos() {
+        return TimeUnit.SECONDS.toNanos(maxAge);
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * The value of the Cache-Control response header.
+     * @param remainingSeconds The number of seconds the response is still fresh
+     * @return The header value
+     */
+    public String cacheControl(long remainingSeconds) {
+        return (shared ? "public" : "private") + ", max-age=" + remainingSeconds;
+    }
+
+    /**
+     * The value of the Vary response header.
+     * @return The header names, comma-separated, or null if the responses do not vary
+     */
+    public String varyHeader() {
+        return (vary.length == 0) ? null : String.join(", ", vary);
+    }
+
+    /**
+     * Build the cache key of a request : its URI, and the values of the Vary headers.
+     * @param request The HTTP request
+     * @return The cache key
+     */
+    public String keyOf(HttpServerRequest request) {
+        final StringBuilder key = new StringBuilder(request.uri());
+        for (String header : vary) {
+            final String value = request.getHeader(header);
+            key.append('\u0000').append(value == null ? "" : value);
+        }
+        return key.toString();
+    }
+}
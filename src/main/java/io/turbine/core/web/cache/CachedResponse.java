@@ -0,0 +1,161 @@
+package io.turbine.core.web.cache;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.zip.CRC32;
+
+/**
+ * A response body kept by the response cache, along with its validators :
+ * an entity tag computed over the body bytes, and its last modification date.
+ * The compressed forms of the body are kept as well, so that it is compressed
+ * at most once per encoding.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class CachedResponse {
+
+    private final Buffer body;
+
+    private final String contentType;
+
+    private final String etag;
+
+    /**
+     * The creation date, truncated to the second (the HTTP date precision)
+     */
+    private final Instant lastModified;
+
+    /**
+     * The expiration time, as given by System.nanoTime()
+     */
+    private final long expiresAt;
+
+    /**
+     * The compressed bodies, by content encoding
+     */
+    private final Map<String, Buffer> encodedBodies = new ConcurrentHashMap<>();
+
+    public CachedResponse(Buffer body, String contentType, long expiresAt) {
+        this.body = body;
+        this.contentType = contentType;
+        this.etag = etagOf(body);
+        this.lastModified = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+        this.expiresAt = expiresAt;
+    }
+
+    public Buffer body() {
+        return body;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * The entity tag of an encoded form of the body : each content encoding is a
+     * distinct representation, so it has its own strong entity tag.
+     * @param encoding The content encoding, or null for the body as is
+     * @return The quoted entity tag
+     */
+    public String etag(String encoding) {
+        return (encoding == null) ? etag : etag.substring(0, etag.length() - 1) + '-' + encoding + '"';
+    }
+
+    /**
+     * Get the body in the given content encoding, encoding it on first request.
+     * @param encoding The content encoding, or null for the body as is
+     * @param encoder Encodes the body with the given encoding
+     * @return The encoded body
+     */
+    public Buffer body(String encoding, BiFunction<Buffer, String, Buffer> encoder) {
+        return (encoding == null) ? body : encodedBodies.computeIfAbsent(encoding, e -> encoder.apply(body, e));
+    }
+
+    public Instant lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * The value of the Last-Modified header.
+     * @return The last modification date, in RFC 1123 format
+     */
+    public String lastModifiedHeader() {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified.atOffset(ZoneOffset.UTC));
+    }
+
+    /**
+     * Indicates whether the response is still fresh.
+     * @param now The current time, as given by System.nanoTime()
+     * @return true if the response has not expired
+     */
+    public boolean isFresh(long now) {
+        return now - expiresAt < 0;
+    }
+
+    /**
+     * Gets the number of seconds the response remains fresh.
+     * @param now The current time, as given by System.nanoTime()
+     * @return The remaining freshness lifetime, in seconds
+     */
+    public long remainingSeconds(long now) {
+        return Math.max(0, (expiresAt - now + 999_999_999L) / 1_000_000_000L);
+    }
+
+    /**
+     * Evaluate the conditional headers of a request against this response.
+     * If-None-Match takes precedence over If-Modified-Since, as required by RFC 7232.
+     * @param ifNoneMatch The If-None-Match request header, or null
+     * @param ifModifiedSince The If-Modified-Since request header, or null
+     * @return true if the client copy is still valid (a 304 Not Modified can be sent)
+     */
+    public boolean isNotModified(String ifNoneMatch, String ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag) || isEncodedEtag(candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (ifModifiedSince != null) {
+            try {
+                Instant since = Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(ifModifiedSince));
+                return !lastModified.isAfter(since);
+            } catch (DateTimeParseException ex) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEncodedEtag(String candidate) {
+        final String prefix = etag.substring(0, etag.length() - 1) + '-';
+        return candidate.startsWith(prefix) && candidate.endsWith("\"");
+    }
+
+    /**
+     * Compute the strong entity tag of a body : its CRC32 checksum and its length.
+     * @param body The response body
+     * @return The quoted entity tag
+     */
+    public static String etagOf(Buffer body) {
+        final CRC32 crc = new CRC32();
+        crc.update(body.getByteBuf().nioBuffer());
+        return '"' + Long.toHexString(crc.getValue()) + '-' + Integer.toHexString(body.length()) + '"';
+    }
+}
@@ -0,0 +1,86 @@
+package io.turbine.core.web.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded in-memory store of HTTP responses, keyed by request URI and Vary headers
+ * (see CachePolicy#keyOf). The least recently used responses are evicted first, and
+ * expired responses are dropped when they are looked up.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class ResponseCache {
+
+    /**
+     * The cached responses, in access order
+     */
+    private final Map<String, CachedResponse> responses;
+
+    private long hits = 0;
+
+    private long misses = 0;
+
+    public ResponseCache(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The response cache size must be positive.");
+        }
+        this.responses = new LinkedHashMap<String, CachedResponse>(maxEntries * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get a fresh cached response.
+     * @param key The cache key of the request
+     * @param now The current time, as given by System.nanoTime()
+     * @return The cached response, or null if there is none or it has expired
+     */
+    public synchronized CachedResponse get(String key, long now) {
+        final CachedResponse response = responses.get(key);
+        if (response != null && response.isFresh(now)) {
+            hits++;
+            return response;
+        }
+        if (response != null) {
+            responses.remove(key);
+        }
+        misses++;
+        return null;
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        responses.put(key, response);
+    }
+
+    /**
+     * Remove all the cached responses.
+     */
+    public synchronized void clear() {
+        responses.clear();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * The ratio of the lookups that found a fresh response.
+     * @return The hit ratio, between 0 and 1 (0 if the cache has never been used)
+     */
+    public synchronized double hitRatio() {
+        long lookups = hits + misses;
+        return (lookups == 0) ? 0 : (double) hits / lookups;
+    }
+
+    public synchronized int size() {
+        return responses.size();
+    }
+}
@@ -0,0 +1,177 @@
+package io.turbine.core.web.compression;
+
+import io.turbine.core.utils.BufferOutputStream;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Negotiates and applies the compression of response bodies.
+ *
+ * A body is compressed if the client accepts gzip or deflate (gzip is preferred at equal
+ * quality), if its size reaches the minimum size, and if its content type is allowed.
+ * Small payloads are sent as is, since compressing them costs more than it saves.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class ResponseCompression {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    /**
+     * The compression settings used when compression is disabled
+     */
+    private static final ResponseCompression DISABLED =
+            new ResponseCompression(false, Deflater.DEFAULT_COMPRESSION, Integer.MAX_VALUE, Collections.emptySet());
+
+    private final boolean enabled;
+
+    /**
+     * The deflate compression level, from 1 (fastest) to 9 (smallest)
+     */
+    private final int level;
+
+    /**
+     * The minimum size of the compressed bodies, in bytes
+     */
+    private final int minSize;
+
+    /**
+     * The compressed content types, without parameters
+     */
+    private final Set<String> contentTypes;
+
+    public ResponseCompression(boolean enabled, int level, int minSize, Collection<String> contentTypes) {
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < 1 || level > 9)) {
+            throw new IllegalArgumentException("The compression level must be between 1 and 9.");
+        }
+        this.enabled = enabled;
+        this.level = level;
+        this.minSize = minSize;
+        this.contentTypes = new HashSet<>();
+        for (String contentType : contentTypes) {
+            this.contentTypes.add(mediaTypeOf(contentType));
+        }
+    }
+
+    public static ResponseCompression disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Indicates whether a response body may be compressed, whatever the client accepts.
+     * Such responses vary with the Accept-Encoding request header.
+     * @param contentType The content type of the response
+     * @param length The size of the body, in bytes
+     * @return true if the body is eligible to compression
+     */
+    public boolean isCompressible(String contentType, int length) {
+        return enabled && length >= minSize &&
+                contentType != null && contentTypes.contains(mediaTypeOf(contentType));
+    }
+
+    /**
+     * Choose the encoding of a response body.
+     * @param acceptEncoding The Accept-Encoding request header, or null
+     * @param contentType The content type of the response
+     * @param length The size of the body, in bytes
+     * @return The chosen encoding (gzip or deflate), or null if the body is sent as is
+     */
+    public String negotiate(String acceptEncoding, String contentType, int length) {
+        if (acceptEncoding == null || !isCompressible(contentType, length)) {
+            return null;
+        }
+
+        /* -1 stands for a coding not listed by the client */
+        double gzip = -1, deflate = -1, any = 0;
+        for (String part : acceptEncoding.split(",")) {
+            final String[] tokens = part.split(";");
+            final String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < tokens.length; i++) {
+                final String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case GZIP: gzip = quality; break;
+                case DEFLATE: deflate = quality; break;
+                case "*": any = quality; break;
+                default: break;
+            }
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return (deflate > 0) ? DEFLATE : null;
+    }
+
+    /**
+     * Compress a body with the given encoding.
+     * @param body The response body
+     * @param encoding The encoding, gzip or deflate
+     * @return A new Buffer holding the compressed body
+     */
+    public Buffer compress(Buffer body, String encoding) {
+        final Buffer compressed = Buffer.buffer(Math.max(64, body.length() / 4));
+        if (GZIP.equals(encoding)) {
+            try (OutputStream out = new LeveledGzipOutputStream(new BufferOutputStream(compressed), level)) {
+                out.write(body.getBytes());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        } else {
+            final Deflater deflater = new Deflater(level);
+            try (OutputStream out = new DeflaterOutputStream(new BufferOutputStream(compressed), deflater)) {
+                out.write(body.getBytes());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                deflater.end();
+            }
+        }
+        return compressed;
+    }
+
+    private static String mediaTypeOf(String contentType) {
+        final int params = contentType.indexOf(';');
+        return ((params < 0) ? contentType : contentType.substring(0, params)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A GZIP output stream with a configurable compression level.
+     */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.turbine.core.web.execution;
+
+/**
+ * The threads a request handling method is called on.
+ *
+ * @see ExecutionPool
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public enum ExecuteOn {
+
+    /**
+     * The method is called on the event loop of the verticle : it must never block
+     */
+    EVENT_LOOP,
+
+    /**
+     * The method is called on a thread of a named worker pool, so it may block
+     */
+    WORKER,
+
+    /**
+     * The method is called on a virtual thread, so it may block.
+     * Falls back to a worker pool when the JVM does not support virtual threads.
+     */
+    VIRTUAL_THREAD
+}
@@ -0,0 +1,314 @@
+package io.turbine.core.web.execution;
+
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+import io.turbine.core.errors.exceptions.http.ServiceUnavailableException;
+import io.turbine.core.metrics.Histogram;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of threads on which blocking request handling methods are called,
+ * out of the event loop.
+ *
+ * At most size + queueSize calls are pending at the same time : beyond that, calls are
+ * rejected with a ServiceUnavailableException (503). The time the calls spend waiting for
+ * a thread is recorded, and the results are emitted back on the context of the caller.
+ *
+ * @see ExecuteOn
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public abstract class ExecutionPool {
+
+    /**
+     * The name of the pool
+     */
+    private final String name;
+
+    /**
+     * The number of threads of the pool
+     */
+    private final int size;
+
+    /**
+     * The maximum number of calls waiting for a thread
+     */
+    private final int queueSize;
+
+    /**
+     * The calls submitted and not completed yet
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * The calls being executed
+     */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * The calls rejected because the pool was full
+     */
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * The waiting times of the calls, until a thread picks them up
+     */
+    private final Histogram waits = new Histogram();
+
+    private ExecutionPool(String name, int size, int queueSize) {
+        if (size < 1 || queueSize < 0) {
+            throw new IllegalArgumentException("Invalid size or queue size for the execution pool " + name);
+        }
+        this.name = name;
+        this.size = size;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Create a pool of Vert.x worker threads. Worker pools are shared by name
+     * within the Vert.x instance.
+     * @param vertx The Vert.x instance
+     * @param name The name of the pool
+     * @param size The number of threads of the pool
+     * @param queueSize The maximum number of calls waiting for a thread
+     * @return The worker execution pool
+     */
+    public static ExecutionPool worker(Vertx vertx, String name, int size, int queueSize) {
+        return new Worker(vertx.createSharedWorkerExecutor(name, size), name, size, queueSize);
+    }
+
+    /**
+     * Create a pool starting a virtual thread per call, if the JVM supports them.
+     * At most size calls run at the same time : the other virtual threads wait for a permit,
+     * and are counted as queued meanwhile.
+     * @param name The name of the pool
+     * @param size The maximum number of concurrent calls
+     * @param queueSize The number of additional calls accepted beyond size
+     * @return The virtual threads execution pool, or null if virtual threads are not supported
+     */
+    public static ExecutionPool virtualThreads(String name, int size, int queueSize) {
+        final ExecutorService executor;
+        try {
+            /* Looked up reflectively since virtual threads are not part of the Java 8 API */
+            executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+        return new VirtualThreads(executor, name, size, queueSize);
+    }
+
+    /**
+     * Call a blocking task on a thread of the pool. The task returns a Single, which is awaited
+     * on the thread as well : it may be a value computed by the task, or a deferred blocking call.
+     * @param task The blocking task
+     * @param <T> The type of the result
+     * @return A single of the task result, emitted on the context of the subscriber, or failing
+     *  with a ServiceUnavailableException if the pool is full
+     */
+    public final <T> Single<T> execute(Callable<? extends Single<T>> task) {
+        return Single.create(emitter -> {
+            if (pending.incrementAndGet() > size + queueSize) {
+                pending.decrementAndGet();
+                rejected.incrementAndGet();
+                emitter.onError(new ServiceUnavailableException(
+                        "The execution pool " + name + " is full, please retry later."));
+                return;
+            }
+            final long submitted = System.nanoTime();
+            try {
+                dispatch(() -> {
+                    waits.record(System.nanoTime() - submitted);
+                    active.incrementAndGet();
+                    try {
+                        /* The caller gave up while the call was queued */
+                        return emitter.isDisposed() ? null : task.call().blockingGet();
+                    } finally {
+                        active.decrementAndGet();
+                        pending.decrementAndGet();
+                    }
+                }, emitter);
+            } catch (RuntimeException ex) {
+                /* The pool was closed */
+                pending.decrementAndGet();
+                throw ex;
+            }
+        });
+    }
+
+    /**
+     * Run a blocking call on a thread of the pool, then emit its result or its failure.
+     * A null result means that the call was skipped, so nothing is emitted.
+     * @param call The blocking call
+     * @param emitter The emitter of the result
+     * @param <T> The type of the result
+     */
+    protected abstract <T> void dispatch(Callable<T> call, SingleEmitter<T> emitter);
+
+    /**
+     * Release the threads of the pool.
+     */
+    public abstract void close();
+
+    /**
+     * The kind of threads of the pool.
+     * @return The execution mode of the pool
+     */
+    public abstract ExecuteOn executeOn();
+
+    public final String name() {
+        return name;
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    public final int queueSize() {
+        return queueSize;
+    }
+
+    public final int active() {
+        return active.get();
+    }
+
+    /**
+     * The number of calls waiting for a thread.
+     * @return The queue depth
+     */
+    public final int queued() {
+        return Math.max(0, pending.get() - active.get());
+    }
+
+    public final long rejected() {
+        return rejected.get();
+    }
+
+    /**
+     * The waiting times of the calls, until a thread picks them up.
+     * @return The histogram of the queue waiting times
+     */
+    public final Histogram waits() {
+        return waits;
+    }
+
+    public JsonObject toJson() {
+        return new JsonObject()
+                .put("name", name)
+                .put("executeOn", executeOn().name())
+                .put("size", size)
+                .put("queueSize", queueSize)
+                .put("active", active())
+                .put("queued", queued())
+                .put("rejected", rejected())
+                .put("waits", waits.toJson());
+    }
+
+    private static <T> void emit(SingleEmitter<T> emitter, T result, Throwable failure) {
+        if (failure != null) {
+            emitter.onError(failure);
+        } else if (result != null) {
+            emitter.onSuccess(result);
+        }
+    }
+
+    /**
+     * A pool of Vert.x worker threads
+     */
+    private static final class Worker extends ExecutionPool {
+
+        private final WorkerExecutor executor;
+
+        private Worker(WorkerExecutor executor, String name, int size, int queueSize) {
+            super(name, size, queueSize);
+            this.executor = executor;
+        }
+
+        @Override
+        protected <T> void dispatch(Callable<T> call, SingleEmitter<T> emitter) {
+            /* Unordered, so that the calls of a same verticle run concurrently */
+            executor.<T>executeBlocking(future -> {
+                try {
+                    future.complete(call.call());
+                } catch (Throwable t) {
+                    future.fail(t);
+                }
+            }, false, async -> emit(emitter, async.result(), async.cause()));
+        }
+
+        @Override
+        public void close() {
+            executor.close();
+        }
+
+        @Override
+        public ExecuteOn executeOn() {
+            return ExecuteOn.WORKER;
+        }
+    }
+
+    /**
+     * A pool starting a virtual thread per call, gated by a permit per thread of the pool
+     */
+    private static final class VirtualThreads extends ExecutionPool {
+
+        private final ExecutorService executor;
+
+        /**
+         * The permits of the calls running at the same time
+         */
+        private final Semaphore permits;
+
+        private VirtualThreads(ExecutorService executor, String name, int size, int queueSize) {
+            super(name, size, queueSize);
+            this.executor = executor;
+            this.permits = new Semaphore(size, true);
+        }
+
+        @Override
+        protected <T> void dispatch(Callable<T> call, SingleEmitter<T> emitter) {
+            final Context context = Vertx.currentContext();
+            executor.execute(() -> {
+                T result = null;
+                Throwable failure = null;
+                /* The call is queued until a permit is free */
+                permits.acquireUninterruptibly();
+                try {
+                    result = call.call();
+                } catch (Throwable t) {
+                    failure = t;
+                } finally {
+                    permits.release();
+                }
+                final T r = result;
+                final Throwable f = failure;
+                /* Back to the context of the caller, as Vert.x does for worker threads */
+                if (context != null) {
+                    context.runOnContext(v -> emit(emitter, r, f));
+                } else {
+                    emit(emitter, r, f);
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            executor.shutdown();
+        }
+
+        @Override
+        public ExecuteOn executeOn() {
+            return ExecuteOn.VIRTUAL_THREAD;
+        }
+    }
+}
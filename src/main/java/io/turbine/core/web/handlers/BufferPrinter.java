@@ -0,0 +1,57 @@
+package io.turbine.core.web.handlers;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.turbine.core.json.JsonFormat;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Defines a function that prints a response body as UTF-8 bytes into a Buffer,
+ * which is sent as is to the client.
+ * It is the byte-oriented counterpart of ResponsePrinter : the response is never
+ * materialized as an intermediate String when the printer can avoid it.
+ *
+ * @see ResponsePrinter
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@FunctionalInterface
+public interface BufferPrinter {
+
+    /**
+     * Print the response body.
+     * @param body The response body, may be null
+     * @param sizeHint The expected size of the printed body in bytes, used to size the buffer
+     * @return A Buffer holding the printed body
+     * @throws Exception An error occurred while printing the body
+     */
+    Buffer print(Object body, int sizeHint) throws Exception;
+
+    /**
+     * A printer that writes the body as JSON.
+     * @param pretty true for a pretty (indented) output, false for a compact one
+     * @return A BufferPrinter instance
+     * @see JsonFormat#writeJson(Buffer, Object, boolean)
+     */
+    static BufferPrinter json(boolean pretty) {
+        return (body, sizeHint) -> JsonFormat.writeJson(Buffer.buffer(sizeHint), body, pretty);
+    }
+
+    /**
+     * A printer that encodes the String printed by a ResponsePrinter,
+     * from chars straight to UTF-8 bytes.
+     * @param printer The String printer
+     * @return A BufferPrinter instance
+     */
+    static BufferPrinter of(ResponsePrinter printer) {
+        return (body, sizeHint) -> {
+            if (body == null) {
+                return Buffer.buffer(0);
+            }
+            final String text = printer.apply(body);
+            final ByteBuf buf = Unpooled.buffer(Math.max(sizeHint, text.length()));
+            ByteBufUtil.writeUtf8(buf, text);
+            return Buffer.buffer(buf);
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package io.turbine.core.web.handlers;
+
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.functions.Consumer;
+import io.turbine.core.json.JsonFormat;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServerResponse;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.turbine.core.web.HttpConstants.ResponseHeaders.CONTENT_TYPE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A subscriber that streams the items of a Flowable as a chunked JSON response.
+ *
+ * Items are requested by batches : the next batch is requested only once the previous
+ * one has been written and the response write queue is not full, otherwise the writer
+ * waits for the response to be drained. The amount of memory held by a response is thus
+ * bounded, whatever the number of items.
+ * Serialized items are gathered into chunks of about FLUSH_SIZE bytes : the items received
+ * in a row (within the same event loop task) share a chunk, which is written once they have
+ * all been handled, so that the items of a slow or live source are not held back.
+ *
+ * All the callbacks are expected to be called on the response context
+ * (the Flowable is observed on the verticle event loop).
+ *
+ * @see StreamFormat
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class ChunkedResponseWriter implements FlowableSubscriber<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedResponseWriter.class);
+
+    /**
+     * The number of items requested at once
+     */
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * The size above which the pending chunk is written to the response
+     */
+    private static final int FLUSH_SIZE = 8 * 1024;
+
+    private final HttpServerResponse response;
+
+    private final StreamFormat format;
+
+    /**
+     * Called if the stream fails before any item was written, so a regular
+     * error response can still be sent
+     */
+    private final Consumer<Throwable> failureHandler;
+
+    private Subscription subscription;
+
+    private Buffer chunk = Buffer.buffer(FLUSH_SIZE);
+
+    /**
+     * The number of items requested but not received yet
+     */
+    private long outstanding = 0;
+
+    /**
+     * The context the pending chunk is flushed on, once the current task is over
+     */
+    private Context context;
+
+    private boolean flushScheduled = false;
+
+    private boolean started = false;
+
+    private boolean done = false;
+
+    public ChunkedResponseWriter(HttpServerResponse response, StreamFormat format,
+                                 Consumer<Throwable> failureHandler) {
+        this.response = requireNonNull(response, "response");
+        this.format = requireNonNull(format, "format");
+        this.failureHandler = requireNonNull(failureHandler, "failureHandler");
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        this.context = Vertx.currentContext();
+        response.closeHandler(v -> cancel());
+        response.drainHandler(v -> requestMore());
+        requestMore();
+    }
+
+    @Override
+    public void onNext(Object item) {
+        if (done) {
+            return;
+        }
+        outstanding--;
+
+        if (!started) {
+            started = true;
+            response.setChunked(true)
+                    .putHeader(CONTENT_TYPE, format.contentType());
+            chunk.appendString(format.opening());
+        } else {
+            chunk.appendString(format.separator());
+        }
+        JsonFormat.writeJson(chunk, item, false);
+
+        if (chunk.length() >= FLUSH_SIZE || outstanding == 0 || context == null) {
+            flush();
+        } else if (!flushScheduled) {
+            /* The upstream has no more item pending once the current task is over */
+            flushScheduled = true;
+            context.runOnContext(v -> {
+                flushScheduled = false;
+                if (!done) {
+                    flush();
+                }
+            });
+        }
+        if (outstanding == 0 && !response.writeQueueFull()) {
+            requestMore();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        done = true;
+
+        if (!started) {
+            try {
+                failureHandler.accept(t);
+            } catch (Exception ex) {
+                logger.error("Could not send the error response of a failed stream", ex);
+                response.close();
+            }
+        } else {
+            /* The status has already been sent : the connection is closed so that
+             * the client can notice the truncated content */
+            logger.error("The response stream failed after it has started, closing the connection.", t);
+            response.close();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+
+        if (!started) {
+            response.putHeader(CONTENT_TYPE, format.contentType())
+                    .end(format.empty());
+        } else {
+            chunk.appendString(format.closing());
+            flush();
+            response.end();
+        }
+    }
+
+    private void requestMore() {
+        if (!done && outstanding == 0) {
+            outstanding = BATCH_SIZE;
+            subscription.request(BATCH_SIZE);
+        }
+    }
+
+    private void flush() {
+        if (chunk.length() > 0) {
+            response.write(io.vertx.reactivex.core.buffer.Buffer.newInstance(chunk));
+            chunk = Buffer.buffer(FLUSH_SIZE);
+        }
+    }
+
+    private void cancel() {
+        if (!done) {
+            done = true;
+            logger.debug("The client closed the connection, cancelling the response stream.");
+            subscription.cancel();
+        }
+    }
+}
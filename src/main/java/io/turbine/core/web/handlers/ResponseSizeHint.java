@@ -0,0 +1,54 @@
+package io.turbine.core.web.handlers;
+
+/**
+ * Keeps track of the size of the responses of a route, in order to allocate
+ * response buffers large enough to be written without being resized.
+ *
+ * The hint grows toward larger responses by doubling at most per response, so that an
+ * occasional large response does not inflate the buffers of all the following ones, and is
+ * capped at MAX_SIZE. It decays by 1/8 per response toward slightly smaller responses, and
+ * halfway at once toward responses less than half of the estimate.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class ResponseSizeHint {
+
+    /**
+     * The minimum hint, in bytes
+     */
+    private static final int MIN_SIZE = 256;
+
+    /**
+     * The maximum hint, in bytes : larger responses will be resized while written
+     */
+    static final int MAX_SIZE = 64 * 1024;
+
+    private volatile int estimate = MIN_SIZE;
+
+    /**
+     * The size to allocate for the next response.
+     * @return A size in bytes
+     */
+    public int get() {
+        final int current = estimate;
+        // Adding 1/8 of slack, so a slightly larger response still fits
+        return Math.min(current + (current >> 3), MAX_SIZE);
+    }
+
+    /**
+     * Record the size of a written response.
+     * @param size The response size in bytes
+     */
+    public void record(int size) {
+        final int current = estimate;
+        final int next;
+        if (size > current) {
+            next = Math.min(size, current << 1);
+        } else if (size < current >> 1) {
+            next = current - ((current - size) >> 1);
+        } else {
+            next = Math.max(size, current - (current >> 3));
+        }
+        estimate = Math.max(MIN_SIZE, Math.min(next, MAX_SIZE));
+    }
+}
@@ -0,0 +1,60 @@
+package io.turbine.core.web.handlers;
+
+import static io.turbine.core.web.HttpConstants.ContentTypes.APPLICATION_JSON;
+import static io.turbine.core.web.HttpConstants.ContentTypes.APPLICATION_NDJSON;
+
+/**
+ * The formats of a streamed (chunked) JSON response, written by request handling
+ * methods that return a Flowable or an Observable.
+ *
+ * @see ChunkedResponseWriter
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public enum StreamFormat {
+
+    /**
+     * Items are written as the elements of a single JSON array
+     */
+    JSON_ARRAY(APPLICATION_JSON, "[", ",", "]"),
+
+    /**
+     * Items are written as newline-delimited JSON values (one per line)
+     */
+    NDJSON(APPLICATION_NDJSON, "", "\n", "\n");
+
+    private final String contentType;
+    private final String opening;
+    private final String separator;
+    private final String closing;
+
+    StreamFormat(String contentType, String opening, String separator, String closing) {
+        this.contentType = contentType;
+        this.opening = opening;
+        this.separator = separator;
+        this.closing = closing;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String opening() {
+        return opening;
+    }
+
+    public String separator() {
+        return separator;
+    }
+
+    public String closing() {
+        return closing;
+    }
+
+    /**
+     * The body of a stream without any item.
+     * @return The empty stream representation
+     */
+    public String empty() {
+        return this == JSON_ARRAY ? opening + closing : "";
+    }
+}
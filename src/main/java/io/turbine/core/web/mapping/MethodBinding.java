@@ -0,0 +1,129 @@
+package io.turbine.core.web.mapping;
+
+import io.vertx.reactivex.ext.web.RoutingContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable binding plan between a route and its request handling method.
+ *
+ * The plan is compiled once, when the request mappings are applied : it holds one
+ * pre-resolved extractor per method parameter and a method handle bound to the
+ * verticle instance. Serving a request only consists in filling the arguments array
+ * and calling the handle, without any reflective lookup.
+ *
+ * @see RequestHandlingHelper#compile(Object, Method)
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class MethodBinding {
+
+    /**
+     * The generic type of the invoker : (Object[]) -> Object
+     */
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    /**
+     * The bound method
+     */
+    private final Method method;
+
+    /**
+     * The extractors for each parameter of the method, in declaration order
+     */
+    private final ParameterExtractor[] extractors;
+
+    /**
+     * The method handle, bound to the target, spreading an arguments array
+     */
+    private final MethodHandle invoker;
+
+    MethodBinding(Object target, Method method, ParameterExtractor[] extractors)
+            throws IllegalAccessException {
+        requireNonNull(target, "target");
+        this.method = requireNonNull(method, "method");
+        this.extractors = extractors.clone();
+
+        /* The verticle class may not be public : since the method is public,
+         * suppressing access checks is harmless here. */
+        method.setAccessible(true);
+        this.invoker = MethodHandles.lookup()
+                .unreflect(method)
+                .bindTo(target)
+                .asSpreader(Object[].class, extractors.length)
+                .asType(INVOKER_TYPE);
+    }
+
+    /**
+     * The bound method.
+     * @return The request handling method
+     */
+    public Method method() {
+        return method;
+    }
+
+    /**
+     * Build the arguments of the method call from the given request.
+     * @param rc The routing context of the request
+     * @return The arguments array, in parameters declaration order
+     */
+    public Object[] bind(RoutingContext rc) {
+        final RequestValues request = new RequestValues(rc);
+        final Object[] args = new Object[extractors.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = extractors[i].extract(request);
+        }
+        return args;
+    }
+
+    /**
+     * Build a key identifying a call by its request and arguments : two calls with equal keys
+     * are expected to return the same result.
+     * The key starts with the method and the URI of the request, since a method reading the
+     * routing context may depend on anything in it. The routing context arguments themselves
+     * are left out, since they are unique to each request.
+     * @param rc The routing context of the request
+     * @param args The arguments array, as returned by {@link #bind(RoutingContext)}
+     * @return The list of the request method, URI and arguments values
+     */
+    public List<Object> key(RoutingContext rc, Object[] args) {
+        final List<Object> key = new ArrayList<>(args.length + 2);
+        key.add(rc.request().method());
+        key.add(rc.request().uri());
+        for (Object arg : args) {
+            key.add((arg instanceof RoutingContext) ? null : arg);
+        }
+        return key;
+    }
+
+    /**
+     * Call the method with the given arguments.
+     * @param args The arguments array, as returned by {@link #bind(RoutingContext)}
+     * @return The value returned by the method
+     * @throws Throwable Any exception thrown by the method itself
+     */
+    public Object invoke(Object[] args) throws Throwable {
+        return (Object) invoker.invokeExact(args);
+    }
+
+    /**
+     * Bind the request and call the method.
+     * @param rc The routing context of the request
+     * @return The value returned by the method
+     * @throws Throwable Any exception thrown by the method itself
+     */
+    public Object invoke(RoutingContext rc) throws Throwable {
+        return invoke(bind(rc));
+    }
+
+    @Override
+    public String toString() {
+        return method.toString();
+    }
+}
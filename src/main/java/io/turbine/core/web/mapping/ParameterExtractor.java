@@ -0,0 +1,27 @@
+package io.turbine.core.web.mapping;
+
+/**
+ * Defines a function that extracts the value of a single parameter of a request
+ * handling method from the current request.
+ * Extractors are resolved once, when the request mappings are compiled, so that
+ * no reflection is needed anymore while serving a request.
+ *
+ * @see MethodBinding
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@FunctionalInterface
+public interface ParameterExtractor {
+
+    /**
+     * An extractor that always supplies null, used for parameters that could
+     * not be resolved at compile time.
+     */
+    ParameterExtractor NULL = request -> null;
+
+    /**
+     * Extract the parameter value from the request.
+     * @param request The values of the current request
+     * @return The parameter value, or null if the request does not hold it
+     */
+    Object extract(RequestValues request);
+}
@@ -1,7 +1,9 @@
 package io.turbine.core.web.mapping;
 
 import io.reactivex.BackpressureStrategy;
+import io.turbine.core.web.execution.ExecuteOn;
 import io.turbine.core.web.handlers.ResponseTypeEnum;
+import io.turbine.core.web.handlers.StreamFormat;
 import io.vertx.core.http.HttpMethod;
 
 import java.lang.annotation.ElementType;
@@ -14,6 +16,97 @@ import java.lang.annotation.Target;
 public @interface RequestHandling {
     String path() default "/";
     HttpMethod method() default HttpMethod.GET;
+
+    /**
+     * No longer used : the requests of a route are admitted by its admission controller,
+     * bounded by maxInFlight() and maxQueued().
+     * @return The former backpressure strategy of the route
+     */
+    @Deprecated
     BackpressureStrategy strategy() default BackpressureStrategy.DROP;
     ResponseTypeEnum type() default ResponseTypeEnum.JSON;
+
+    /**
+     * Indicates whether JSON responses of the route are pretty-printed.
+     * Compact JSON is written by default, unless the verticle enables
+     * pretty printing for all its routes (see WebVerticle#prettyJson()).
+     * @return true to pretty print JSON responses
+     */
+    boolean pretty() default false;
+
+    /**
+     * The format of the chunked response written when the method returns
+     * a Flowable or an Observable : a JSON array, or newline-delimited JSON.
+     * Ignored for methods returning a Single.
+     * @return The stream format
+     */
+    StreamFormat streamFormat() default StreamFormat.JSON_ARRAY;
+
+    /**
+     * Indicates whether concurrent identical requests are coalesced : while a request
+     * is being handled, requests of the route with the same method, URI and bound parameters
+     * (query string, body, bearer token...) are answered with its result, without calling
+     * the method again.
+     * Only suitable for methods whose result solely depends on their bound parameters.
+     * Not supported by methods returning a stream.
+     * @return true to coalesce identical in-flight requests
+     */
+    boolean coalesce() default false;
+
+    /**
+     * The number of seconds the responses of a GET route are cached, both by the verticle
+     * and by the clients (Cache-Control max-age). Cached responses carry an ETag and a
+     * Last-Modified date, and conditional requests are answered with 304 Not Modified.
+     * Responses are not cached by default (0).
+     * @return The max age of the responses, in seconds
+     */
+    int maxAge() default 0;
+
+    /**
+     * The names of the request headers the cached responses vary with
+     * (for instance Accept-Language, or Authorization for per-user responses).
+     * @return The Vary header names
+     */
+    String[] vary() default {};
+
+    /**
+     * Indicates whether the cached responses may be stored by shared caches, such as
+     * proxies (Cache-Control: public). Responses are private by default, and always
+     * private for routes reading the bearer token, whose responses vary with the
+     * Authorization header.
+     * @return true to let shared caches store the responses
+     */
+    boolean publicCache() default false;
+
+    /**
+     * The threads the method is called on. Methods calling blocking code must not run
+     * on the event loop (the default), which would stall all the routes of the verticle :
+     * they are offloaded to a worker pool, or to virtual threads if the JVM supports them.
+     * Not supported by methods returning a stream.
+     * @return The execution mode of the method
+     */
+    ExecuteOn executeOn() default ExecuteOn.EVENT_LOOP;
+
+    /**
+     * The name of the pool the method is offloaded to, when it is not called on the event loop.
+     * The size and the queue size of each pool are read from the "http.execution.{pool}"
+     * configuration block.
+     * @return The execution pool name
+     */
+    String pool() default "default";
+
+    /**
+     * The maximum number of requests of the route handled at the same time.
+     * Defaults to the "http.admission.max-in-flight" configuration property (-1).
+     * @return The maximum number of requests in flight
+     */
+    int maxInFlight() default -1;
+
+    /**
+     * The maximum number of requests of the route waiting to be handled, beyond which
+     * requests are rejected with a 503 Service Unavailable and a Retry-After header.
+     * Defaults to the "http.admission.max-queued" configuration property (-1).
+     * @return The maximum number of queued requests
+     */
+    int maxQueued() default -1;
 }
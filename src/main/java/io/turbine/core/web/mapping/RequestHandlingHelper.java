@@ -1,13 +1,18 @@
 package io.turbine.core.web.mapping;
 
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.turbine.core.errors.exceptions.router.RequestMappingException;
 import io.turbine.core.verticles.BaseWebVerticle;
 import io.turbine.core.web.HttpConstants;
+import io.turbine.core.web.execution.ExecuteOn;
+import io.turbine.core.web.handlers.ResponseTypeEnum;
 import io.turbine.core.web.mapping.annotations.Bearer;
 import io.turbine.core.web.mapping.annotations.QueryString;
 import io.turbine.core.web.mapping.annotations.RequestBody;
 import io.turbine.core.web.mapping.annotations.RouteParam;
+import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.ext.web.RoutingContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,12 +20,9 @@ import org.slf4j.LoggerFactory;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
-import static io.turbine.core.utils.Utils.Web.parseQueryString;
 import static io.turbine.core.utils.Utils.parsePrimitiveValueFromString;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
@@ -40,9 +42,21 @@ public class RequestHandlingHelper {
                 if (method.isAnnotationPresent(RequestHandling.class)) {
                     RequestHandling rqh = method.getAnnotation(RequestHandling.class);
                     try {
-                        if (!method.getReturnType().isAssignableFrom(Single.class)) {
+                        if (!method.getReturnType().isAssignableFrom(Single.class) && !isStream(method)) {
                             throw new IllegalArgumentException("The request handling method " + method.getName() +
-                                    "() must return a Single<Response>.");
+                                    "() must return a Single<Response>, a Flowable or an Observable.");
+                        }
+                        if (isStream(method) && rqh.type() != ResponseTypeEnum.JSON) {
+                            throw new IllegalArgumentException("The request handling method " + method.getName() +
+                                    "() returns a stream, which can only be written as JSON.");
+                        }
+                        if (isStream(method) && rqh.coalesce()) {
+                            throw new IllegalArgumentException("The request handling method " + method.getName() +
+                                    "() returns a stream, whose requests cannot be coalesced.");
+                        }
+                        if (isStream(method) && rqh.executeOn() != ExecuteOn.EVENT_LOOP) {
+                            throw new IllegalArgumentException("The request handling method " + method.getName() +
+                                    "() returns a stream, which cannot be offloaded from the event loop.");
                         }
                         Class<?>[] parameterTypes = method.getParameterTypes();
                         if (parameterTypes.length == 0 || !parameterTypes[0].isAssignableFrom(RoutingContext.class)) {
@@ -65,71 +79,104 @@ public class RequestHandlingHelper {
         return mappings;
     }
 
-    public static Object[] interpolateParams(Method method, RoutingContext rc) {
-        List<Object> finalParams = new ArrayList<>();
-
-        for (int i = 0; i < method.getParameterCount(); i++) {
-            Parameter parameter = method.getParameters()[i];
-            // Ignoring the first parameter that must be the RoutingContext
-            if (!parameter.getType().equals(RoutingContext.class)) {
-                Object value = null;
-                // @Bearer annotation : type must be string
-                if (parameter.getType().equals(String.class) && parameter.isAnnotationPresent(Bearer.class)) {
-                    String auth = rc.request().getHeader(HttpConstants.RequestHeaders.AUTHORIZATION);
-                    if (!isEmpty(auth) && auth.startsWith(BEARER))
-                        value = auth.substring(BEARER.length()).trim();
-
-                } else {
-                    Class<? extends Annotation> annoClass = null;
-                    String name = null;
-
-                    if (parameter.isAnnotationPresent(RouteParam.class)) {
-                        annoClass = RouteParam.class;
-                        name = parameter.getAnnotation(RouteParam.class).value();
-                    } else if (parameter.isAnnotationPresent(QueryString.class)) {
-                        annoClass = QueryString.class;
-                        name = parameter.getAnnotation(QueryString.class).value();
-                    } else if (parameter.isAnnotationPresent(RequestBody.class)) {
-                        annoClass = RequestBody.class;
-                        name = parameter.getAnnotation(RequestBody.class).value();
-                    }
+    /**
+     * Indicates whether a request handling method returns a stream of items
+     * (a Flowable or an Observable), which is written as a chunked response.
+     * @param method The request handling method
+     * @return true if the method returns a stream
+     */
+    public static boolean isStream(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return Flowable.class.isAssignableFrom(returnType) ||
+               Observable.class.isAssignableFrom(returnType);
+    }
 
-                    // The parameter is annotated by one of the 3 annotations
-                    if (annoClass != null) {
-                        if (isEmpty(name)) {
-                            if (parameter.isNamePresent()) {
-                                name = parameter.getName();
-                            } else {
-                                // The annotation does not hold the key name and it is
-                                // impossible to extract the parameter name using reflection
-                                logger.warn("Could not determine key name from the parameter #{} (type {}) of " +
-                                                "method {} annotated with @{}. Parameter will be ignored.",
-                                        i, parameter.getType(), method.getName(), annoClass.getSimpleName());
-                                // We must keep the same name of arguments for the method next call
-                                finalParams.add(null);
-                                continue;
-                            }
-                        }
-                    }
+    /**
+     * Compile the binding plan of a request handling method.
+     * Each parameter is resolved once to an extractor, according to its type and annotations.
+     * @param target The instance on which the method will be called
+     * @param method The request handling method
+     * @return The compiled MethodBinding
+     * @throws IllegalArgumentException The method cannot be accessed
+     */
+    public static MethodBinding compile(Object target, Method method) {
+        final Parameter[] parameters = method.getParameters();
+        final ParameterExtractor[] extractors = new ParameterExtractor[parameters.length];
+
+        for (int i = 0; i < parameters.length; i++) {
+            extractors[i] = resolveExtractor(method, parameters[i], i);
+        }
 
-                    if (parameter.isAnnotationPresent(RouteParam.class))
-                        value = parsePrimitiveValueFromString(rc.pathParam(name));
+        try {
+            return new MethodBinding(target, method, extractors);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalArgumentException("The request handling method " + method.getName() +
+                    "() is not accessible.", ex);
+        }
+    }
 
-                    else if (parameter.isAnnotationPresent(QueryString.class))
-                        value = parseQueryString(rc.request().query()).get(name);
+    private static ParameterExtractor resolveExtractor(Method method, Parameter parameter, int index) {
+        // The RoutingContext is supplied as is
+        if (parameter.getType().equals(RoutingContext.class)) {
+            return RequestValues::context;
+        }
 
-                    else if (parameter.isAnnotationPresent(RequestBody.class)) {
-                        String content = (String) rc.getBodyAsJson().getMap().get(name);
-                        value = parsePrimitiveValueFromString(content);
-                    }
-                }
+        // @Bearer annotation : type must be string
+        if (parameter.getType().equals(String.class) && parameter.isAnnotationPresent(Bearer.class)) {
+            return request -> {
+                String auth = request.context().request().getHeader(HttpConstants.RequestHeaders.AUTHORIZATION);
+                return (!isEmpty(auth) && auth.startsWith(BEARER)) ?
+                        auth.substring(BEARER.length()).trim() : null;
+            };
+        }
+
+        Class<? extends Annotation> annoClass = null;
+        String name = null;
+
+        if (parameter.isAnnotationPresent(RouteParam.class)) {
+            annoClass = RouteParam.class;
+            name = parameter.getAnnotation(RouteParam.class).value();
+        } else if (parameter.isAnnotationPresent(QueryString.class)) {
+            annoClass = QueryString.class;
+            name = parameter.getAnnotation(QueryString.class).value();
+        } else if (parameter.isAnnotationPresent(RequestBody.class)) {
+            annoClass = RequestBody.class;
+            name = parameter.getAnnotation(RequestBody.class).value();
+        }
+
+        // The parameter is not annotated by one of the 3 annotations
+        if (annoClass == null) {
+            return ParameterExtractor.NULL;
+        }
 
-                finalParams.add(value);
+        if (isEmpty(name)) {
+            if (parameter.isNamePresent()) {
+                name = parameter.getName();
+            } else {
+                // The annotation does not hold the key name and it is
+                // impossible to extract the parameter name using reflection
+                logger.warn("Could not determine key name from the parameter #{} (type {}) of " +
+                                "method {} annotated with @{}. Parameter will be ignored.",
+                        index, parameter.getType(), method.getName(), annoClass.getSimpleName());
+                return ParameterExtractor.NULL;
             }
         }
 
-        finalParams.add(0, rc);
-        return finalParams.toArray();
+        final String key = name;
+        if (annoClass == RouteParam.class) {
+            return request -> parsePrimitiveValueFromString(request.context().pathParam(key));
+
+        } else if (annoClass == QueryString.class) {
+            return request -> request.query().get(key);
+
+        } else {
+            return request -> {
+                JsonObject body = request.body();
+                Object content = (body != null) ? body.getValue(key) : null;
+                return (content instanceof String) ?
+                        parsePrimitiveValueFromString((String) content) : content;
+            };
+        }
     }
 
 }
@@ -0,0 +1,59 @@
+package io.turbine.core.web.mapping;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.ext.web.RoutingContext;
+
+import java.util.Map;
+
+import static io.turbine.core.utils.Utils.Web.parseQueryString;
+
+/**
+ * Holds the values of the request being bound to a request handling method.
+ * The query string and the JSON body are parsed lazily, at most once per request,
+ * whatever the number of parameters reading them.
+ *
+ * @see ParameterExtractor
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class RequestValues {
+
+    private final RoutingContext context;
+
+    private Map<String, Object> query;
+
+    private JsonObject body;
+
+    RequestValues(RoutingContext context) {
+        this.context = context;
+    }
+
+    /**
+     * The routing context of the request.
+     * @return A RoutingContext instance
+     */
+    public RoutingContext context() {
+        return context;
+    }
+
+    /**
+     * The parsed query string parameters of the request.
+     * @return A map of the query string parameters
+     */
+    public Map<String, Object> query() {
+        if (query == null) {
+            query = parseQueryString(context.request().query());
+        }
+        return query;
+    }
+
+    /**
+     * The request body, parsed as a JSON object.
+     * @return A JsonObject, or null if the request has no body
+     */
+    public JsonObject body() {
+        if (body == null) {
+            body = context.getBodyAsJson();
+        }
+        return body;
+    }
+}
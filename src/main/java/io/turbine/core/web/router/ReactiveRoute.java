@@ -3,7 +3,7 @@ package io.turbine.core.web.router;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.Observable;
-import io.reactivex.subjects.BehaviorSubject;
+import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 import io.vertx.core.Handler;
 import io.vertx.reactivex.ext.web.Route;
@@ -11,7 +11,8 @@ import io.vertx.reactivex.ext.web.RoutingContext;
 
 public final class ReactiveRoute {
 
-    private final Subject<RoutingContext> subject = BehaviorSubject.create();
+    /* The contexts are only published to the current observers, never retained */
+    private final Subject<RoutingContext> subject = PublishSubject.create();
     private Handler<RoutingContext> delegateHandler = null;
 
     ReactiveRoute(Route delegate) {
@@ -0,0 +1,240 @@
+package io.turbine.core.web.router;
+
+import io.vertx.core.http.HttpMethod;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A tree of route paths, split by segments, looked up in a time proportional to the
+ * length of the requested path, whatever the number of routes.
+ *
+ * Paths follow the Vert.x syntax : static segments, parameter segments (":name"),
+ * and a trailing wildcard ("*") matching any remaining segments. Static segments take
+ * precedence over parameters, which take precedence over wildcards. Empty segments
+ * (double or trailing slashes) are ignored.
+ *
+ * @param <H> The type of the route handlers
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class RouteTrie<H> {
+
+    private static final String WILDCARD = "*";
+
+    /**
+     * The root node of the tree of each HTTP method
+     */
+    private final Map<HttpMethod, Node<H>> roots = new EnumMap<>(HttpMethod.class);
+
+    private int size;
+
+    /**
+     * Add a route to the tree.
+     * @param method The HTTP method of the route
+     * @param path The path of the route
+     * @param handler The handler of the route
+     * @throws IllegalArgumentException A route with the same method and path was already added
+     */
+    public void add(HttpMethod method, String path, H handler) {
+        requireNonNull(handler, "handler");
+        Node<H> node = roots.computeIfAbsent(requireNonNull(method, "method"), m -> new Node<>());
+
+        final List<String> segments = segments(path);
+        for (int i = 0; i < segments.size(); i++) {
+            final String segment = segments.get(i);
+            if (segment.startsWith(":")) {
+                node = node.parameter(segment.substring(1));
+            } else if (WILDCARD.equals(segment) && i == segments.size() - 1) {
+                node = node.wildcard();
+            } else {
+                node = node.segment(segment);
+            }
+        }
+
+        if (node.handler != null) {
+            throw new IllegalArgumentException("The route " + method + " " + path + " is already mapped.");
+        }
+        node.handler = handler;
+        size++;
+    }
+
+    /**
+     * Find the route matching a request.
+     * @param method The HTTP method of the request
+     * @param path The path of the request, without its query string
+     * @return The matching route with its decoded path parameters, or null if no route matches
+     */
+    public Match<H> lookup(HttpMethod method, String path) {
+        final Node<H> root = roots.get(method);
+        if (root == null || path == null) {
+            return null;
+        }
+        final List<String> segments = segments(path);
+        final List<String> values = new ArrayList<>();
+        final Node<H> node = find(root, segments, 0, values);
+        if (node == null) {
+            return null;
+        }
+
+        Map<String, String> params = Collections.emptyMap();
+        if (!values.isEmpty()) {
+            /* The values are collected along the path, in the order of the parameter names */
+            params = new LinkedHashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                params.put(node.names.get(i), decode(values.get(i)));
+            }
+        }
+        return new Match<>(node.handler, params);
+    }
+
+    /**
+     * The number of routes of the tree.
+     * @return The count of routes
+     */
+    public int size() {
+        return size;
+    }
+
+    private Node<H> find(Node<H> node, List<String> segments, int index, List<String> values) {
+        if (index == segments.size()) {
+            if (node.handler != null) {
+                return node;
+            }
+            /* A wildcard also matches an empty remainder */
+            return (node.wildcard != null && node.wildcard.handler != null) ? node.wildcard : null;
+        }
+
+        final String segment = segments.get(index);
+        final Node<H> child = node.statics.get(segment);
+        if (child != null) {
+            final Node<H> found = find(child, segments, index + 1, values);
+            if (found != null) {
+                return found;
+            }
+        }
+
+        for (Node<H> parameter : node.parameters.values()) {
+            values.add(segment);
+            final Node<H> found = find(parameter, segments, index + 1, values);
+            if (found != null) {
+                return found;
+            }
+            values.remove(values.size() - 1);
+        }
+
+        return (node.wildcard != null && node.wildcard.handler != null) ? node.wildcard : null;
+    }
+
+    private static List<String> segments(String path) {
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments;
+    }
+
+    private static String decode(String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        try {
+            /* In a path, '+' is not an encoded space */
+            return URLDecoder.decode(value.replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException ex) {
+            return value;
+        }
+    }
+
+    /**
+     * A route matching a request
+     * @param <H> The type of the route handler
+     */
+    public static final class Match<H> {
+
+        private final H handler;
+
+        private final Map<String, String> params;
+
+        private Match(H handler, Map<String, String> params) {
+            this.handler = handler;
+            this.params = params;
+        }
+
+        public H handler() {
+            return handler;
+        }
+
+        /**
+         * The decoded values of the path parameters of the request.
+         * @return The path parameters, by name
+         */
+        public Map<String, String> params() {
+            return params;
+        }
+    }
+
+    /**
+     * A node of the tree, standing for a path segment
+     * @param <H> The type of the route handlers
+     */
+    private static final class Node<H> {
+
+        private final Map<String, Node<H>> statics = new HashMap<>();
+
+        /**
+         * The children parameter segments, by parameter name : routes may name differently
+         * the parameter at the same position
+         */
+        private final Map<String, Node<H>> parameters = new LinkedHashMap<>(2);
+
+        private Node<H> wildcard;
+
+        /**
+         * The names of the parameters along the path to this node
+         */
+        private List<String> names = Collections.emptyList();
+
+        private H handler;
+
+        private Node<H> segment(String segment) {
+            return statics.computeIfAbsent(segment, s -> child(null));
+        }
+
+        private Node<H> parameter(String name) {
+            return parameters.computeIfAbsent(name, n -> child(n));
+        }
+
+        private Node<H> wildcard() {
+            if (wildcard == null) {
+                wildcard = child(null);
+            }
+            return wildcard;
+        }
+
+        private Node<H> child(String parameterName) {
+            final Node<H> child = new Node<>();
+            if (parameterName == null) {
+                child.names = names;
+            } else {
+                child.names = new ArrayList<>(names);
+                child.names.add(parameterName);
+            }
+            return child;
+        }
+    }
+}
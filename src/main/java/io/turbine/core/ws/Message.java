@@ -1,6 +1,7 @@
 package io.turbine.core.ws;
 
 import io.turbine.core.json.JsonSerializable;
+import io.vertx.core.buffer.Buffer;
 
 import java.time.Instant;
 
@@ -29,4 +30,12 @@ public interface Message<S, B> extends JsonSerializable {
      * @return the sender
      */
     S sender();
+
+    /**
+     * Returns the compact JSON representation of the message, as sent to the clients.
+     * @return A Buffer of the UTF-8 encoded JSON
+     */
+    default Buffer toBuffer() {
+        return Buffer.buffer(toJson().encode());
+    }
 }
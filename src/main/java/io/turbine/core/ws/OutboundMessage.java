@@ -0,0 +1,46 @@
+package io.turbine.core.ws;
+
+import io.vertx.reactivex.core.http.ServerWebSocket;
+
+import static io.vertx.core.http.HttpServerOptions.DEFAULT_MAX_WEBSOCKET_FRAME_SIZE;
+
+/**
+ * A message ready to be written to WebSocket clients. An outbound message is built
+ * once, and may be written to any number of connections.
+ *
+ * @see OutboundQueue
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+@FunctionalInterface
+public interface OutboundMessage {
+
+    /**
+     * Write the message to a WebSocket.
+     * @param webSocket The WebSocket to write to
+     */
+    void writeTo(ServerWebSocket webSocket);
+
+    /**
+     * Create a text message. Texts fitting in a single frame are written as a final
+     * frame, larger ones are split into several frames by Vert.x.
+     * @param text The text of the message
+     * @return The outbound message
+     */
+    static OutboundMessage text(String text) {
+        return text(text, DEFAULT_MAX_WEBSOCKET_FRAME_SIZE);
+    }
+
+    /**
+     * Create a text message, for a server whose maximum frame size is not the default one.
+     * @param text The text of the message
+     * @param maxFrameSize The maximum size of the frames of the server, in bytes
+     * @return The outbound message
+     */
+    static OutboundMessage text(String text, int maxFrameSize) {
+        /* A char is encoded in at most 3 bytes (a surrogate pair of 2 chars in 4 bytes) */
+        if (text.length() > maxFrameSize / 3) {
+            return webSocket -> webSocket.writeTextMessage(text);
+        }
+        return webSocket -> webSocket.writeFinalTextFrame(text);
+    }
+}
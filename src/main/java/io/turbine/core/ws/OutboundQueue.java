@@ -0,0 +1,226 @@
+package io.turbine.core.ws;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.http.ServerWebSocket;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The bounded queue of the messages waiting to be written to a WebSocket connection.
+ *
+ * Messages are written straight away while the write queue of the socket is not full.
+ * Otherwise they wait here, and are written as soon as the socket drains. Once the
+ * queue holds capacity messages, the slow consumer policy decides which messages
+ * are dropped, or whether the connection is closed : the memory held by a client that
+ * does not keep up is bounded, whatever the rate of the messages.
+ *
+ * @see SlowConsumerPolicy
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class OutboundQueue {
+
+    /**
+     * The default maximum number of queued messages
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * The close status sent to the disconnected slow consumers (policy violation)
+     */
+    private static final short POLICY_VIOLATION = 1008;
+
+    private final ServerWebSocket webSocket;
+
+    private final Deque<OutboundMessage> queue = new ArrayDeque<>();
+
+    private int capacity;
+
+    private SlowConsumerPolicy policy;
+
+    /**
+     * The highest depth the queue has reached
+     */
+    private int maxDepth;
+
+    private long sent;
+
+    private long dropped;
+
+    /**
+     * Whether a drain handler is waiting for the socket to drain
+     */
+    private boolean awaitingDrain;
+
+    private boolean closed;
+
+    public OutboundQueue(ServerWebSocket webSocket) {
+        this(webSocket, DEFAULT_CAPACITY, SlowConsumerPolicy.DROP_OLDEST);
+    }
+
+    public OutboundQueue(ServerWebSocket webSocket, int capacity, SlowConsumerPolicy policy) {
+        this.webSocket = webSocket;
+        configure(capacity, policy);
+    }
+
+    /**
+     * Change the capacity and the slow consumer policy of the queue.
+     * @param capacity The maximum number of queued messages
+     * @param policy The policy applied when the queue is full
+     */
+    public synchronized void configure(int capacity, SlowConsumerPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of an outbound queue must be positive");
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    /**
+     * Send a message to the connection, or queue it if the socket cannot accept it yet.
+     * @param message The message to send
+     * @return false if the message was dropped
+     */
+    public synchronized boolean offer(OutboundMessage message) {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (queue.isEmpty() && !webSocket.writeQueueFull()) {
+                write(message);
+                return !closed;
+            }
+        } catch (IllegalStateException ex) {
+            /* The socket was closed, its close handler has not run yet */
+            discard(1);
+            return false;
+        }
+
+        if (queue.size() >= capacity) {
+            switch (policy) {
+                case DROP_NEWEST:
+                    dropped++;
+                    return false;
+                case DROP_OLDEST:
+                    queue.poll();
+                    dropped++;
+                    break;
+                case COALESCE:
+                    dropped += queue.size();
+                    queue.clear();
+                    break;
+                case DISCONNECT:
+                    dropped += queue.size() + 1;
+                    queue.clear();
+                    closed = true;
+                    webSocket.close(POLICY_VIOLATION, "Slow consumer");
+                    return false;
+            }
+        }
+
+        queue.add(message);
+        maxDepth = Math.max(maxDepth, queue.size());
+        awaitDrain();
+        return !closed;
+    }
+
+    private void awaitDrain() {
+        if (awaitingDrain || closed) {
+            return;
+        }
+        awaitingDrain = true;
+        try {
+            webSocket.drainHandler(v -> flush());
+            /*
+             * The messages are offered from the room thread : the socket may have drained from its
+             * own event loop before the handler was set, in which case the handler is never called
+             */
+            if (!webSocket.writeQueueFull()) {
+                flush();
+            }
+        } catch (IllegalStateException ex) {
+            discard(0);
+        }
+    }
+
+    private synchronized void flush() {
+        awaitingDrain = false;
+        try {
+            while (!closed && !queue.isEmpty() && !webSocket.writeQueueFull()) {
+                write(queue.poll());
+            }
+        } catch (IllegalStateException ex) {
+            discard(0);
+        }
+        if (!queue.isEmpty()) {
+            awaitDrain();
+        }
+    }
+
+    private void write(OutboundMessage message) {
+        try {
+            message.writeTo(webSocket);
+            sent++;
+        } catch (IllegalStateException ex) {
+            /* The socket was closed meanwhile */
+            discard(1);
+        }
+    }
+
+    /**
+     * Drop the queued messages once the socket is closed.
+     * @param pending The number of dropped messages that were not queued
+     */
+    private void discard(int pending) {
+        closed = true;
+        dropped += queue.size() + pending;
+        queue.clear();
+    }
+
+    /**
+     * The number of messages waiting to be written.
+     * @return The queue depth
+     */
+    public synchronized int depth() {
+        return queue.size();
+    }
+
+    /**
+     * The highest number of messages that have been waiting at the same time.
+     * @return The queue maximum depth
+     */
+    public synchronized int maxDepth() {
+        return maxDepth;
+    }
+
+    public synchronized int capacity() {
+        return capacity;
+    }
+
+    public synchronized SlowConsumerPolicy policy() {
+        return policy;
+    }
+
+    public synchronized long sent() {
+        return sent;
+    }
+
+    public synchronized long dropped() {
+        return dropped;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized JsonObject toJson() {
+        return new JsonObject()
+                .put("depth", queue.size())
+                .put("maxDepth", maxDepth)
+                .put("capacity", capacity)
+                .put("policy", policy.name())
+                .put("sent", sent)
+                .put("dropped", dropped)
+                .put("closed", closed);
+    }
+}
@@ -0,0 +1,52 @@
+package io.turbine.core.ws;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.impl.FrameType;
+import io.vertx.core.http.impl.ws.WebSocketFrameImpl;
+import io.vertx.reactivex.core.http.ServerWebSocket;
+
+/**
+ * A final text frame built once and written to many WebSockets, so that the content
+ * is neither encoded nor copied again for each of them.
+ *
+ * Netty releases the content of a frame once written : each write is given its own
+ * view over a content that cannot be released, and that is left to the garbage collector.
+ * It relies on the Vert.x frame implementation, since the public API only builds
+ * text frames from a String.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class SharedTextFrame implements OutboundMessage {
+
+    /**
+     * The UTF-8 encoded text, never released
+     */
+    private final ByteBuf content;
+
+    /**
+     * Build a frame from its UTF-8 encoded text.
+     * @param text The text of the frame
+     */
+    public SharedTextFrame(Buffer text) {
+        this.content = Unpooled.unreleasableBuffer(text.getByteBuf());
+    }
+
+    /**
+     * The length of the text of the frame.
+     * @return The text length in bytes
+     */
+    public int length() {
+        return content.readableBytes();
+    }
+
+    /**
+     * Write the frame to a WebSocket.
+     * @param webSocket The WebSocket to write to
+     */
+    @Override
+    public void writeTo(ServerWebSocket webSocket) {
+        webSocket.getDelegate().writeFrame(new WebSocketFrameImpl(FrameType.TEXT, content.duplicate(), true));
+    }
+}
@@ -0,0 +1,32 @@
+package io.turbine.core.ws;
+
+/**
+ * What to do when the outbound queue of a WebSocket connection is full, because its
+ * client does not read the messages as fast as they are sent.
+ *
+ * @see OutboundQueue
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * The oldest queued message is dropped to make room for the new one
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new message is dropped
+     */
+    DROP_NEWEST,
+
+    /**
+     * All the queued messages are dropped in favor of the new one : the client
+     * skips the backlog and catches up with the latest message
+     */
+    COALESCE,
+
+    /**
+     * The connection is closed (with the 1008 policy violation status)
+     */
+    DISCONNECT
+}
@@ -18,4 +18,19 @@ public interface WsConnection<S> {
     ServerWebSocket webSocket();
     Instant openingTime();
     Instant lastActivityTime();
+
+    /**
+     * The bounded queue of the messages waiting to be written to the client.
+     * @return The OutboundQueue of the connection
+     */
+    OutboundQueue outbound();
+
+    /**
+     * Send a message to the client through the outbound queue of the connection.
+     * @param message The message to send
+     * @return false if the message was dropped
+     */
+    default boolean send(OutboundMessage message) {
+        return outbound().offer(message);
+    }
 }
@@ -0,0 +1,71 @@
+package io.turbine.core.ws.cluster;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of room messages relayed from a node to another one over the event bus.
+ * The messages are held already serialized, as they are sent to the clients.
+ *
+ * @see RelayBatchCodec
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class RelayBatch {
+
+    /**
+     * The node that sends the batch
+     */
+    private final String origin;
+
+    private final List<String> rooms = new ArrayList<>();
+
+    private final List<Buffer> payloads = new ArrayList<>();
+
+    public RelayBatch(String origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Add a message to the batch.
+     * @param room The key of the room of the message
+     * @param payload The serialized message
+     * @return The batch itself
+     */
+    public RelayBatch add(String room, Buffer payload) {
+        rooms.add(room);
+        payloads.add(payload);
+        return this;
+    }
+
+    public String origin() {
+        return origin;
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    public String room(int index) {
+        return rooms.get(index);
+    }
+
+    public Buffer payload(int index) {
+        return payloads.get(index);
+    }
+
+    /**
+     * Group the messages of the batch by room, keeping their order.
+     * @return The serialized messages, by room key
+     */
+    public Map<String, List<Buffer>> byRoom() {
+        final Map<String, List<Buffer>> byRoom = new LinkedHashMap<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            byRoom.computeIfAbsent(rooms.get(i), room -> new ArrayList<>()).add(payloads.get(i));
+        }
+        return byRoom;
+    }
+}
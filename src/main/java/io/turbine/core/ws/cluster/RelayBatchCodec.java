@@ -0,0 +1,78 @@
+package io.turbine.core.ws.cluster;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary event bus codec of the relayed batches.
+ *
+ * A batch is written as the origin node, the number of messages, then for each message
+ * its room key and its payload : strings and payloads are prefixed by their length, so
+ * the serialized messages are copied as they are, without any JSON encoding.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class RelayBatchCodec implements MessageCodec<RelayBatch, RelayBatch> {
+
+    public static final String NAME = "turbine.ws.relay-batch";
+
+    @Override
+    public void encodeToWire(Buffer buffer, RelayBatch batch) {
+        writeString(buffer, batch.origin());
+        buffer.appendInt(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            writeString(buffer, batch.room(i));
+            final Buffer payload = batch.payload(i);
+            buffer.appendInt(payload.length()).appendBuffer(payload);
+        }
+    }
+
+    @Override
+    public RelayBatch decodeFromWire(int pos, Buffer buffer) {
+        int length = buffer.getInt(pos);
+        pos += 4;
+        final RelayBatch batch = new RelayBatch(buffer.getString(pos, pos + length, StandardCharsets.UTF_8.name()));
+        pos += length;
+
+        final int size = buffer.getInt(pos);
+        pos += 4;
+        for (int i = 0; i < size; i++) {
+            length = buffer.getInt(pos);
+            pos += 4;
+            final String room = buffer.getString(pos, pos + length, StandardCharsets.UTF_8.name());
+            pos += length;
+
+            length = buffer.getInt(pos);
+            pos += 4;
+            batch.add(room, buffer.getBuffer(pos, pos + length));
+            pos += length;
+        }
+        return batch;
+    }
+
+    private static void writeString(Buffer buffer, String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
+
+    /**
+     * The batches are not modified once sent : they are passed as they are
+     * to the local consumers.
+     */
+    @Override
+    public RelayBatch transform(RelayBatch batch) {
+        return batch;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -0,0 +1,60 @@
+package io.turbine.core.ws.cluster;
+
+import java.util.Collection;
+
+/**
+ * Rendezvous (highest random weight) hashing of keys onto nodes.
+ *
+ * Each node is given a pseudo-random weight for the key, and the heaviest node owns it.
+ * Every node computes the same owner from the same members, without any coordination,
+ * and when a node joins or leaves, only the keys it wins or owned change hands.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class Rendezvous {
+
+    private Rendezvous() {}
+
+    /**
+     * Find the node owning a key.
+     * @param key The key to map
+     * @param nodes The identifiers of the nodes
+     * @return The owner node, or null if there is no node
+     */
+    public static String owner(String key, Collection<String> nodes) {
+        String owner = null;
+        long best = 0;
+        for (String node : nodes) {
+            final long weight = weight(node, key);
+            /* Ties are broken by the node identifier, so that all the nodes agree */
+            if (owner == null || weight > best || (weight == best && node.compareTo(owner) < 0)) {
+                owner = node;
+                best = weight;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * The weight of a node for a key. String hash codes are used, since they are
+     * the same on every JVM.
+     * @param node The node identifier
+     * @param key The key
+     * @return A pseudo-random weight
+     */
+    static long weight(String node, String key) {
+        return mix(((long) node.hashCode() << 32) ^ (key.hashCode() & 0xffffffffL));
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3, spreading the bits of the value.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
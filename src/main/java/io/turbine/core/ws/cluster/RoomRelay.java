@@ -0,0 +1,356 @@
+package io.turbine.core.ws.cluster;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Relays the messages of the WebSocket rooms between the nodes of a cluster,
+ * over the Vert.x event bus.
+ *
+ * Each room is owned by a single node, chosen by rendezvous hashing of the room key
+ * over the members of the cluster. The nodes holding members of a room subscribe
+ * to its owner : a message posted on a node is delivered to its local members at once,
+ * and forwarded to the owner, which relays it to the other subscribed nodes.
+ * Messages travel in batches, one per destination node, sent after a short delay
+ * or as soon as they are full, and encoded by the {@link RelayBatchCodec}.
+ *
+ * The members of the cluster announce themselves with periodic heartbeats, and a node
+ * missing three heartbeats is considered gone. When the members change, the ownership
+ * of the rooms is recomputed and the nodes subscribe again to the new owners.
+ *
+ * @see Rendezvous
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
+public final class RoomRelay {
+
+    /**
+     * The root of the event bus addresses of the relay
+     */
+    private static final String ADDRESS = "turbine.ws.relay";
+
+    /**
+     * The address the heartbeats are published to
+     */
+    private static final String MEMBERS_ADDRESS = ADDRESS + ".members";
+
+    /**
+     * The number of missed heartbeats after which a node is considered gone
+     */
+    private static final int MISSED_HEARTBEATS = 3;
+
+    private final Vertx vertx;
+
+    private final EventBus eventBus;
+
+    /**
+     * The identifier of the current node
+     */
+    private final String node;
+
+    /**
+     * The delay after which the pending batches are sent, in milliseconds
+     */
+    private final long batchDelay;
+
+    /**
+     * The number of messages after which a batch is sent without delay
+     */
+    private final int batchSize;
+
+    /**
+     * The period of the heartbeats, in milliseconds
+     */
+    private final long heartbeat;
+
+    /**
+     * The time of the last heartbeat of the known nodes, the current one included
+     */
+    private final Map<String, Long> nodes = new HashMap<>();
+
+    /**
+     * The delivery handlers of the rooms having members on the current node
+     */
+    private final Map<String, Consumer<List<Buffer>>> localRooms = new HashMap<>();
+
+    /**
+     * The owner each local room is subscribed to
+     */
+    private final Map<String, String> owners = new HashMap<>();
+
+    /**
+     * The other nodes having members of the rooms owned by the current node
+     */
+    private final Map<String, Set<String>> subscribers = new HashMap<>();
+
+    /**
+     * The batches waiting to be sent, by destination address
+     */
+    private final Map<String, RelayBatch> pending = new LinkedHashMap<>();
+
+    private final List<MessageConsumer<?>> consumers = new ArrayList<>();
+
+    private long heartbeatTimer = -1;
+
+    private boolean flushScheduled;
+
+    private long relayed;
+
+    public RoomRelay(Vertx vertx, String node, long batchDelay, int batchSize, long heartbeat) {
+        this.vertx = vertx;
+        this.eventBus = vertx.eventBus();
+        this.node = node;
+        this.batchDelay = batchDelay;
+        this.batchSize = batchSize;
+        this.heartbeat = heartbeat;
+    }
+
+    private static String address(String node, String kind) {
+        return ADDRESS + "." + node + "." + kind;
+    }
+
+    /**
+     * Join the cluster : listen to the relayed messages and announce the current node.
+     */
+    public synchronized void join() {
+        try {
+            eventBus.registerDefaultCodec(RelayBatch.class, new RelayBatchCodec());
+        } catch (IllegalStateException alreadyRegistered) {
+            /* The codec is shared by all the relays of the Vert.x instance */
+        }
+        nodes.put(node, System.currentTimeMillis());
+
+        consumers.add(eventBus.<JsonObject>consumer(MEMBERS_ADDRESS, this::onHeartbeat));
+        consumers.add(eventBus.<JsonObject>consumer(address(node, "subscriptions"), this::onSubscription));
+        consumers.add(eventBus.<RelayBatch>consumer(address(node, "forward"), this::onForward));
+        consumers.add(eventBus.<RelayBatch>consumer(address(node, "deliver"), m -> deliver(m.body())));
+
+        heartbeatTimer = vertx.setPeriodic(heartbeat, id -> beat());
+        announce(false);
+    }
+
+    /**
+     * Leave the cluster : send the pending batches and let the other nodes know.
+     */
+    public synchronized void leave() {
+        flush();
+        announce(true);
+        vertx.cancelTimer(heartbeatTimer);
+        consumers.forEach(MessageConsumer::unregister);
+        consumers.clear();
+        nodes.clear();
+        localRooms.clear();
+        owners.clear();
+        subscribers.clear();
+    }
+
+    private void announce(boolean leaving) {
+        eventBus.publish(MEMBERS_ADDRESS, new JsonObject()
+                .put("node", node)
+                .put("leaving", leaving));
+    }
+
+    private synchronized void beat() {
+        final long now = System.currentTimeMillis();
+        nodes.put(node, now);
+        if (nodes.values().removeIf(last -> last < now - MISSED_HEARTBEATS * heartbeat)) {
+            rebalance();
+        }
+        announce(false);
+    }
+
+    private synchronized void onHeartbeat(Message<JsonObject> message) {
+        final String member = message.body().getString("node");
+        if (node.equals(member) || consumers.isEmpty()) {
+            return;
+        }
+        if (message.body().getBoolean("leaving", false)) {
+            if (nodes.remove(member) != null) {
+                rebalance();
+            }
+        } else if (nodes.put(member, System.currentTimeMillis()) == null) {
+            rebalance();
+            /* Let the newcomer know the current node without waiting for the next beat */
+            announce(false);
+        }
+    }
+
+    /**
+     * Recompute the owners of the rooms after the members of the cluster changed.
+     */
+    private void rebalance() {
+        for (String room : localRooms.keySet()) {
+            final String owner = owner(room);
+            if (!owner.equals(owners.get(room))) {
+                subscribe(room, owner);
+            }
+        }
+        /* Forget the rooms owned by another node, and the nodes that are gone */
+        subscribers.keySet().removeIf(room -> !node.equals(owner(room)));
+        subscribers.values().forEach(members -> members.retainAll(nodes.keySet()));
+    }
+
+    /**
+     * The node owning a room.
+     * @param room The room key
+     * @return The identifier of the owner node
+     */
+    public synchronized String owner(String room) {
+        return Rendezvous.owner(room, nodes.keySet());
+    }
+
+    /**
+     * Declare a room having members on the current node, so that the messages
+     * posted on the other nodes are delivered to them.
+     * @param room The room key
+     * @param handler The handler the relayed messages of the room are delivered to
+     */
+    public synchronized void subscribe(String room, Consumer<List<Buffer>> handler) {
+        localRooms.put(room, handler);
+        subscribe(room, owner(room));
+    }
+
+    private void subscribe(String room, String owner) {
+        owners.put(room, owner);
+        if (!node.equals(owner)) {
+            eventBus.send(address(owner, "subscriptions"), new JsonObject()
+                    .put("node", node)
+                    .put("room", room)
+                    .put("subscribe", true));
+        }
+    }
+
+    /**
+     * Declare a room having no more members on the current node.
+     * @param room The room key
+     */
+    public synchronized void unsubscribe(String room) {
+        localRooms.remove(room);
+        final String owner = owners.remove(room);
+        if (owner != null && !node.equals(owner)) {
+            eventBus.send(address(owner, "subscriptions"), new JsonObject()
+                    .put("node", node)
+                    .put("room", room)
+                    .put("subscribe", false));
+        }
+    }
+
+    private synchronized void onSubscription(Message<JsonObject> message) {
+        final String member = message.body().getString("node");
+        final String room = message.body().getString("room");
+        if (message.body().getBoolean("subscribe")) {
+            subscribers.computeIfAbsent(room, r -> new HashSet<>()).add(member);
+        } else if (subscribers.containsKey(room)) {
+            subscribers.get(room).remove(member);
+            if (subscribers.get(room).isEmpty()) {
+                subscribers.remove(room);
+            }
+        }
+    }
+
+    /**
+     * Relay a message posted by a local member of a room to the other nodes.
+     * @param room The room key
+     * @param payload The serialized message
+     */
+    public synchronized void send(String room, Buffer payload) {
+        final String owner = owner(room);
+        if (node.equals(owner)) {
+            fanOut(node, room, payload);
+        } else if (owner != null) {
+            enqueue(address(owner, "forward"), room, payload);
+        }
+    }
+
+    private void fanOut(String origin, String room, Buffer payload) {
+        for (String member : subscribers.getOrDefault(room, Collections.emptySet())) {
+            if (!member.equals(origin)) {
+                enqueue(address(member, "deliver"), room, payload);
+            }
+        }
+    }
+
+    private void onForward(Message<RelayBatch> message) {
+        final RelayBatch batch = message.body();
+        synchronized (this) {
+            for (int i = 0; i < batch.size(); i++) {
+                fanOut(batch.origin(), batch.room(i), batch.payload(i));
+            }
+        }
+        deliver(batch);
+    }
+
+    /**
+     * Deliver the messages of a batch to the local members of their rooms.
+     * The handlers are called without holding the lock of the relay.
+     */
+    private void deliver(RelayBatch batch) {
+        batch.byRoom().forEach((room, payloads) -> {
+            final Consumer<List<Buffer>> handler;
+            synchronized (this) {
+                handler = localRooms.get(room);
+            }
+            if (handler != null) {
+                handler.accept(payloads);
+            }
+        });
+    }
+
+    private void enqueue(String address, String room, Buffer payload) {
+        final RelayBatch batch = pending.computeIfAbsent(address, a -> new RelayBatch(node));
+        batch.add(room, payload);
+        relayed++;
+        if (batch.size() >= batchSize) {
+            pending.remove(address);
+            eventBus.send(address, batch);
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            vertx.setTimer(batchDelay, id -> flush());
+        }
+    }
+
+    private synchronized void flush() {
+        flushScheduled = false;
+        pending.forEach(eventBus::send);
+        pending.clear();
+    }
+
+    /**
+     * The identifier of the current node.
+     * @return The node identifier
+     */
+    public String node() {
+        return node;
+    }
+
+    /**
+     * The known members of the cluster.
+     * @return The identifiers of the nodes, the current one included
+     */
+    public synchronized Set<String> nodes() {
+        return new HashSet<>(nodes.keySet());
+    }
+
+    public synchronized JsonObject toJson() {
+        return new JsonObject()
+                .put("node", node)
+                .put("nodes", nodes.size())
+                .put("localRooms", localRooms.size())
+                .put("subscribedRooms", subscribers.size())
+                .put("pending", pending.values().stream().mapToInt(RelayBatch::size).sum())
+                .put("relayed", relayed);
+    }
+}
@@ -3,16 +3,28 @@ package io.turbine.core.ws.impl;
 import io.turbine.core.json.JsonFormat;
 import io.turbine.core.ws.Message;
 import io.turbine.core.ws.WsConnection;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 
 import java.time.Instant;
 
+/**
+ * The default Message implementation.
+ * Since a message is immutable, its JSON representation is built and encoded at most
+ * once, however many clients it is sent to : the JsonObject returned by toJson() and
+ * the Buffer returned by toBuffer() are shared, and must not be modified.
+ *
+ * @author Fabien <fabien DOT lehouedec AT gmail DOT com>
+ */
 public final class MessageImpl<S, B> implements Message<S, B> {
 
     private final B body;
     private final WsConnection<S> connection;
     private final Instant sentAt;
 
+    private volatile JsonObject json;
+    private volatile Buffer buffer;
+
     public MessageImpl(WsConnection<S> connection, B body) {
         this.connection = connection;
         this.body = body;
@@ -36,9 +48,20 @@ public final class MessageImpl<S, B> implements Message<S, B> {
 
     @Override
     public JsonObject toJson() {
-        return JsonFormat.Builder.json(
-            new String[] { "sender", "sentAt", "body" },
-            new Object[] { sender(), sentAt(), body() }
-        );
+        if (json == null) {
+            json = JsonFormat.Builder.json(
+                new String[] { "sender", "sentAt", "body" },
+                new Object[] { sender(), sentAt(), body() }
+            );
+        }
+        return json;
+    }
+
+    @Override
+    public Buffer toBuffer() {
+        if (buffer == null) {
+            buffer = Buffer.buffer(toJson().encode());
+        }
+        return buffer;
     }
 }
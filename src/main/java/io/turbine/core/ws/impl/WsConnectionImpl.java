@@ -1,5 +1,6 @@
 package io.turbine.core.ws.impl;
 
+import io.turbine.core.ws.OutboundQueue;
 import io.turbine.core.ws.WsConnection;
 import io.vertx.reactivex.core.http.ServerWebSocket;
 
@@ -11,12 +12,14 @@ public final class WsConnectionImpl<S> implements WsConnection<S> {
     private final S sender;
     private final ServerWebSocket webSocket;
     private final Instant openingTime;
+    private final OutboundQueue outbound;
     private Instant lastActivityTime;
 
     public WsConnectionImpl(S sender, ServerWebSocket webSocket) {
         this.sender = sender;
         this.webSocket = webSocket;
         this.openingTime = Instant.now();
+        this.outbound = new OutboundQueue(webSocket);
         this.lastActivityTime = Instant.now();
     }
 
@@ -40,6 +43,11 @@ public final class WsConnectionImpl<S> implements WsConnection<S> {
         return lastActivityTime;
     }
 
+    @Override
+    public OutboundQueue outbound() {
+        return outbound;
+    }
+
     public void setLastActivityTime(Instant lastActivityTime) {
         this.lastActivityTime = lastActivityTime;
     }
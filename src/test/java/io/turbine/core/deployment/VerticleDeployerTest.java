@@ -0,0 +1,97 @@
+package io.turbine.core.deployment;
+
+import io.reactivex.Completable;
+import io.turbine.core.deployment.annotations.Instances;
+import io.turbine.core.deployment.annotations.Shared;
+import io.turbine.core.verticles.BaseVerticle;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.shareddata.AsyncMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.turbine.core.deployment.VerticleFactory.factory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VerticleDeployerTest {
+
+    @Instances(3)
+    public static class SharingVerticle extends BaseVerticle {
+        @Shared(name = "deployer-test")
+        AsyncMap<String, Integer> map;
+    }
+
+    public static class StaticSharingVerticle extends BaseVerticle {
+        @Shared
+        static AsyncMap<String, Integer> map;
+    }
+
+    public static class StoppingVerticle extends BaseVerticle {
+        boolean stopped;
+
+        @Override
+        public Completable rxStop() {
+            return super.rxStop().doOnComplete(() -> stopped = true);
+        }
+    }
+
+    private final VerticleDeployer deployer = VerticleDeployer.getDeployer();
+
+    @Test
+    void testInstancesOf() {
+        assertThat(VerticleDeployer.instancesOf(BaseVerticle.class, new JsonObject()), is(1));
+        assertThat(VerticleDeployer.instancesOf(SharingVerticle.class, new JsonObject()), is(3));
+        assertThat(VerticleDeployer.instancesOf(SharingVerticle.class, new JsonObject().put("instances", 2)), is(2));
+    }
+
+    @Test
+    void testDeployInstances() {
+        final List<SharingVerticle> verticles = deployer
+                .deployInstances(factory(SharingVerticle.class), null)
+                .blockingGet();
+
+        assertThat(verticles, hasSize(3));
+        assertThat(verticles.get(0), not(sameInstance(verticles.get(1))));
+        assertThat(verticles.get(1), not(sameInstance(verticles.get(2))));
+        for (SharingVerticle verticle : verticles) {
+            assertThat(verticle.map, notNullValue());
+        }
+
+        verticles.get(0).map.rxPut("key", 1).blockingAwait();
+        assertThat(verticles.get(2).map.rxGet("key").blockingGet(), is(1));
+    }
+
+    @Test
+    void testDeployReusedInstance() {
+        final SharingVerticle verticle = new SharingVerticle();
+        final Throwable t = assertThrows(RuntimeException.class, () -> deployer
+                .deployInstances(factory(() -> verticle, SharingVerticle.class), null)
+                .blockingGet());
+        assertThat(t.getCause(), instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    void testUndeployVerticle() {
+        final StoppingVerticle verticle = deployer.deployVerticle(StoppingVerticle.class, null).blockingGet();
+        final String deploymentID = verticle.deploymentID();
+        assertThat(deploymentID, notNullValue());
+
+        deployer.undeployVerticle(deploymentID).blockingAwait();
+        assertThat(verticle.stopped, is(true));
+        assertThrows(IllegalStateException.class, () -> deployer.undeployVerticle(deploymentID).blockingAwait());
+    }
+
+    @Test
+    void testStaticSharedField() {
+        assertThrows(IllegalStateException.class, () -> deployer
+                .deployVerticle(StaticSharingVerticle.class, null)
+                .blockingGet());
+    }
+}
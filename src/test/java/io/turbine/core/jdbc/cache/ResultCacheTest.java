@@ -0,0 +1,98 @@
+package io.turbine.core.jdbc.cache;
+
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.SingleSubject;
+import io.turbine.core.jdbc.results.ManyResults;
+import io.turbine.core.jdbc.results.Results;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.sql.ResultSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class ResultCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final ResultCache cache = new ResultCache(2, 10, TimeUnit.NANOSECONDS, now::get);
+
+    private Single<Results> load() {
+        loads.incrementAndGet();
+        return Single.just(new ManyResults(new ResultSet(singletonList("id"),
+                singletonList(new JsonArray().add(1)), null)));
+    }
+
+    private void get(String sql, Object param) {
+        cache.get(sql, new JsonArray().add(param), this::load).blockingGet();
+    }
+
+    @Test
+    void testKeyedBySqlAndParams() {
+        get("SELECT * FROM users WHERE id = ?", 1);
+        get("SELECT * FROM users WHERE id = ?", 1);
+        get("SELECT * FROM users WHERE id = ?", 2);
+        assertThat(loads.get(), is(2));
+        assertThat(cache.hitRatio(), is(1.0 / 3));
+    }
+
+    @Test
+    void testTimeToLive() {
+        get("SELECT * FROM users", 1);
+        now.addAndGet(10);
+        get("SELECT * FROM users", 1);
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    void testInvalidationByTable() {
+        get("SELECT * FROM users u JOIN `app`.`houses` h ON h.id = u.house", 1);
+        get("SELECT * FROM weapons", 1);
+
+        cache.invalidate("UPDATE houses SET name = ? WHERE id = ?");
+        assertThat(cache.size(), is(1));
+        cache.invalidate("insert into WEAPONS values (?)");
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    void testCopiesPerLookup() {
+        Results first = cache.get("SELECT * FROM users", new JsonArray(), this::load).blockingGet();
+        first.toRows().get(0).add("altered");
+        first.toList().get(0).put("id", 2);
+
+        Results second = cache.get("SELECT * FROM users", new JsonArray(), this::load).blockingGet();
+        assertThat(loads.get(), is(1));
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.toRows().get(0), is(new JsonArray().add(1)));
+        assertThat(second.toList().get(0).getInteger("id"), is(1));
+    }
+
+    @Test
+    void testCoalescedMisses() {
+        SingleSubject<Results> pending = SingleSubject.create();
+        AtomicInteger subscriptions = new AtomicInteger();
+        Single<Results> loader = pending.doOnSubscribe(d -> subscriptions.incrementAndGet());
+
+        Single<Results> first = cache.get("SELECT * FROM users", new JsonArray(), () -> loader);
+        Single<Results> second = cache.get("SELECT * FROM users", new JsonArray(), () -> loader);
+        TestObserver<Results> firstObserver = first.test();
+        TestObserver<Results> secondObserver = second.test();
+        assertThat(subscriptions.get(), is(1));
+
+        pending.onError(new IllegalStateException());
+        firstObserver.assertError(IllegalStateException.class);
+        secondObserver.assertError(IllegalStateException.class);
+        assertThat(cache.size(), is(0));
+    }
+}
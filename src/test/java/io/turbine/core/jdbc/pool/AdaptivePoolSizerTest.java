@@ -0,0 +1,89 @@
+package io.turbine.core.jdbc.pool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class AdaptivePoolSizerTest {
+
+    private static AdaptivePoolSizer sizer(String url) {
+        return new AdaptivePoolSizer(PoolMetrics.of(url), 2, 12, 2, 10, 1000);
+    }
+
+    @Test
+    void testOneSizerPerPool() {
+        PoolMetrics metrics = PoolMetrics.of("jdbc:test:sizer");
+        AdaptivePoolSizer sizer = AdaptivePoolSizer.of(metrics, 2, 12, 2, 10, 1000);
+        assertThat(AdaptivePoolSizer.of(metrics, 4, 40, 4, 50, 500), sameInstance(sizer));
+        assertThat(AdaptivePoolSizer.of(PoolMetrics.of("jdbc:test:sizer2"), 2, 12, 2, 10, 1000),
+                not(sameInstance(sizer)));
+    }
+
+    @Test
+    void testGrowsAfterSustainedPressure() {
+        AdaptivePoolSizer sizer = sizer("jdbc:test:grow");
+        assertThat(sizer.resize(4, 50, 0, 0), is(4));
+        assertThat(sizer.resize(4, 50, 0, 0), is(6));
+    }
+
+    @Test
+    void testIgnoresSingleBurst() {
+        AdaptivePoolSizer sizer = sizer("jdbc:test:burst");
+        assertThat(sizer.resize(4, 50, 3, 0), is(4));
+        assertThat(sizer.resize(4, 5, 0, 1), is(4));
+        assertThat(sizer.resize(4, 50, 0, 0), is(4));
+        assertThat(sizer.resize(4, 0, 1, 0), is(6));
+    }
+
+    @Test
+    void testShrinksAfterSustainedSlack() {
+        AdaptivePoolSizer sizer = sizer("jdbc:test:shrink");
+        for (int i = 1; i < AdaptivePoolSizer.SHRINK_TICKS; i++) {
+            assertThat(sizer.resize(8, 0.5, 0, 6), is(8));
+        }
+        assertThat(sizer.resize(8, 0.5, 0, 6), is(6));
+    }
+
+    @Test
+    void testCooldownAndBounds() {
+        AdaptivePoolSizer sizer = sizer("jdbc:test:cooldown");
+        sizer.resize(10, 50, 0, 0);
+        assertThat(sizer.resize(10, 50, 0, 0), is(12));
+        // Two ticks of cooldown, then the pressure must be sustained again
+        assertThat(sizer.resize(12, 50, 0, 0), is(12));
+        assertThat(sizer.resize(12, 50, 0, 0), is(12));
+        assertThat(sizer.resize(12, 50, 0, 0), is(12));
+        assertThat(sizer.resize(12, 50, 0, 0), is(12));
+
+        AdaptivePoolSizer small = sizer("jdbc:test:min");
+        for (int i = 0; i < AdaptivePoolSizer.SHRINK_TICKS; i++) {
+            small.resize(2, 0, 0, 5);
+        }
+        assertThat(small.resize(2, 0, 0, 5), is(2));
+    }
+
+    @Test
+    void testTicksOncePerPeriod() {
+        AdaptivePoolSizer sizer = sizer("jdbc:test:period");
+        PoolMetrics metrics = PoolMetrics.of("jdbc:test:period");
+        metrics.checkoutStarted().succeeded();
+
+        // No c3p0 pool to resize, but the first tick consumes the recent checkouts
+        assertThat(sizer.tick(), is(-1));
+        assertThat(metrics.recentCheckouts().count(), is(0L));
+
+        // A tick of another verticle within the same period is skipped
+        metrics.checkoutStarted().succeeded();
+        assertThat(sizer.tick(), is(-1));
+        assertThat(metrics.recentCheckouts().count(), is(1L));
+    }
+
+    @Test
+    void testInvalidBounds() {
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new AdaptivePoolSizer(PoolMetrics.of("jdbc:test:invalid"), 4, 2, 1, 10, 1000));
+    }
+}
@@ -0,0 +1,77 @@
+package io.turbine.core.jdbc.pool;
+
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class PoolMetricsTest {
+
+    @Test
+    void testSharedByPool() {
+        assertThat(PoolMetrics.of("jdbc:test:shared"), sameInstance(PoolMetrics.of("jdbc:test:shared")));
+        assertThat(PoolMetrics.of("jdbc:test:shared"), not(sameInstance(PoolMetrics.of("jdbc:test:other"))));
+    }
+
+    @Test
+    void testSucceededCheckout() {
+        PoolMetrics metrics = PoolMetrics.of("jdbc:test:succeeded");
+        PoolMetrics.Checkout checkout = metrics.checkoutStarted();
+        assertThat(metrics.waiting(), is(1));
+
+        checkout.succeeded();
+        checkout.ended();
+        assertThat(metrics.waiting(), is(0));
+        assertThat(metrics.inUse(), is(1));
+        assertThat(metrics.checkouts().count(), is(1L));
+        assertThat(metrics.recentCheckouts().count(), is(1L));
+
+        metrics.released();
+        assertThat(metrics.inUse(), is(0));
+    }
+
+    @Test
+    void testFailedCheckout() {
+        PoolMetrics metrics = PoolMetrics.of("jdbc:test:failed");
+        Single.error(new IllegalStateException("No connection"))
+                .doFinally(metrics.checkoutStarted()::ended)
+                .subscribe(c -> {}, e -> {});
+
+        assertThat(metrics.waiting(), is(0));
+        assertThat(metrics.inUse(), is(0));
+        assertThat(metrics.checkouts().count(), is(0L));
+    }
+
+    @Test
+    void testDisposedCheckout() {
+        PoolMetrics metrics = PoolMetrics.of("jdbc:test:disposed");
+        PoolMetrics.Checkout checkout = metrics.checkoutStarted();
+        Disposable pending = Single.never()
+                .doOnSuccess(c -> checkout.succeeded())
+                .doFinally(checkout::ended)
+                .subscribe();
+        assertThat(metrics.waiting(), is(1));
+
+        pending.dispose();
+        assertThat(metrics.waiting(), is(0));
+
+        // A late answer of the pool is not counted twice
+        checkout.succeeded();
+        checkout.ended();
+        assertThat(metrics.waiting(), is(0));
+        assertThat(metrics.inUse(), is(0));
+    }
+
+    @Test
+    void testUninspectablePool() {
+        PoolMetrics metrics = PoolMetrics.of("jdbc:test:unknown");
+        assertThat(metrics.idle(), is(-1));
+        assertThat(metrics.size(), is(-1));
+        assertThat(metrics.maxSize(), is(-1));
+        assertThat(metrics.toJson().getInteger("waiting"), is(0));
+    }
+}
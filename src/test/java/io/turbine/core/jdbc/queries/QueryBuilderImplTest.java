@@ -0,0 +1,86 @@
+package io.turbine.core.jdbc.queries;
+
+import io.reactivex.Single;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.sql.ResultSet;
+import io.vertx.ext.sql.UpdateResult;
+import io.vertx.reactivex.ext.sql.SQLConnection;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryBuilderImplTest {
+
+    private final QueryBuilder query = new QueryBuilderImpl();
+
+    /**
+     * The number of times the connection has been closed
+     */
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private boolean failing;
+
+    /**
+     * A connection answering every query with an empty result, or with an error when failing
+     */
+    @SuppressWarnings("unchecked")
+    private final SQLConnection connection = SQLConnection.newInstance(
+            (io.vertx.ext.sql.SQLConnection) Proxy.newProxyInstance(
+                    getClass().getClassLoader(),
+                    new Class<?>[] { io.vertx.ext.sql.SQLConnection.class },
+                    (proxy, method, args) -> {
+                        final Handler<AsyncResult<Object>> handler = (args != null && args.length > 0
+                                && args[args.length - 1] instanceof Handler) ?
+                                (Handler<AsyncResult<Object>>) args[args.length - 1] : null;
+                        switch (method.getName()) {
+                            case "close":
+                                closed.incrementAndGet();
+                                break;
+                            case "queryWithParams":
+                                handler.handle(failing ? Future.failedFuture("failure") :
+                                        Future.succeededFuture(new ResultSet(Collections.singletonList("id"),
+                                                Collections.singletonList(new JsonArray().add(1)), null)));
+                                break;
+                            case "updateWithParams":
+                                handler.handle(Future.succeededFuture(new UpdateResult(1, new JsonArray())));
+                                break;
+                            default:
+                                break;
+                        }
+                        return method.getReturnType().isInstance(proxy) ? proxy : null;
+                    }));
+
+    @Test
+    void testExecutionsReleaseTheConnection() throws Exception {
+        Single.wrap(query.select("SELECT id FROM t").apply(connection)).blockingGet();
+        assertThat(closed.get(), is(1));
+
+        Single.wrap(query.update("UPDATE t SET id = 2").apply(connection)).blockingGet();
+        assertThat(closed.get(), is(2));
+    }
+
+    @Test
+    void testFailedExecutionsReleaseTheConnection() {
+        failing = true;
+        assertThrows(Exception.class, () ->
+                Single.wrap(query.single("SELECT id FROM t").apply(connection)).blockingGet());
+        assertThat(closed.get(), is(1));
+    }
+
+    @Test
+    void testTransactionKeepsTheConnection() {
+        final Transaction transaction = new Transaction(connection, query);
+        transaction.select("SELECT id FROM t").blockingGet();
+        transaction.update("UPDATE t SET id = 2").blockingGet();
+        assertThat(closed.get(), is(0));
+    }
+}
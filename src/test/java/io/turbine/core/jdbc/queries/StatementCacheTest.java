@@ -0,0 +1,77 @@
+package io.turbine.core.jdbc.queries;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class StatementCacheTest {
+
+    @Test
+    void testQueryKind() {
+        assertThat(QueryKind.of("  select * from users"), is(QueryKind.SELECT));
+        assertThat(QueryKind.of("(SELECT 1) UNION (SELECT 2)"), is(QueryKind.SELECT));
+        assertThat(QueryKind.of("WITH t AS (SELECT 1) SELECT * FROM t"), is(QueryKind.SELECT));
+        assertThat(QueryKind.of("INSERT INTO users VALUES (?)"), is(QueryKind.INSERT));
+        assertThat(QueryKind.of("delete from users"), is(QueryKind.DELETE));
+        assertThat(QueryKind.of("CREATE TABLE t (id INT)"), is(QueryKind.OTHER));
+    }
+
+    @Test
+    void testGeneratedKeysOnlyForInserts() {
+        StatementCache cache = new StatementCache();
+        assertThat(cache.get("SELECT 1").options().isAutoGeneratedKeys(), is(false));
+        assertThat(cache.get("UPDATE t SET a = 1").options().isAutoGeneratedKeys(), is(false));
+        assertThat(cache.get("INSERT INTO t VALUES (1)").options().isAutoGeneratedKeys(), is(true));
+    }
+
+    @Test
+    void testLruEvictionAndHitRatio() {
+        StatementCache cache = new StatementCache(2, QueryKind::defaultOptions);
+        StatementCache.Plan a = cache.get("SELECT a");
+        cache.get("SELECT b");
+        assertThat(cache.get("SELECT a"), sameInstance(a));
+        cache.get("SELECT c");  // evicts "SELECT b", the least recently used
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("SELECT a"), sameInstance(a));
+        assertThat(cache.get("SELECT b"), not(sameInstance(a)));
+        assertThat(cache.planHits(), is(2L));
+        assertThat(cache.planMisses(), is(4L));
+        assertThat(cache.planHitRatio(), is(2.0 / 6));
+    }
+
+    @Test
+    void testBoundedUnderConcurrentLookups() throws Exception {
+        StatementCache cache = new StatementCache(8, QueryKind::defaultOptions);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> lookups = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                lookups.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        cache.get("SELECT " + ((i * 7 + thread) % 20));
+                    }
+                }));
+            }
+            for (Future<?> lookup : lookups) {
+                lookup.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(cache.size(), lessThanOrEqualTo(8));
+        assertThat(cache.planHits() + cache.planMisses(), is(4000L));
+    }
+}
@@ -0,0 +1,69 @@
+package io.turbine.core.jdbc.results;
+
+import io.turbine.core.errors.exceptions.jdbc.NoResultException;
+import io.turbine.core.errors.exceptions.jdbc.TransformationException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.sql.ResultSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ManyResultsTest {
+
+    private static ResultSet resultSet() {
+        return new ResultSet(
+                asList("id", "name"),
+                asList(new JsonArray().add(1).add("Arya"),
+                       new JsonArray().add(2).add("Sansa")),
+                null);
+    }
+
+    @Test
+    void testColumns() {
+        Results results = new ManyResults(resultSet());
+        assertThat(results.count(), is(2));
+        assertThat(results.columns().names(), contains("id", "name"));
+        assertThat(results.columns().indexOf("name"), is(1));
+        assertThat(results.columns().indexOf("house"), is(-1));
+    }
+
+    @Test
+    void testLazyObjectViews() {
+        Results results = new ManyResults(resultSet());
+        List<JsonObject> list = results.toList();
+        assertThat(list.get(1), is(new JsonObject().put("id", 2).put("name", "Sansa")));
+        assertThat(results.toList(), sameInstance(list));
+        assertThat(results.toArray().getJsonObject(0).getString("name"), is("Arya"));
+    }
+
+    @Test
+    void testTypedLists() {
+        Results results = new ManyResults(resultSet());
+        assertThat(results.toTypedList(row -> row.getString("name")), contains("Arya", "Sansa"));
+
+        int name = results.columns().indexOf("name");
+        assertThat(results.toTypedList((row, columns) -> row.getString(name)), contains("Arya", "Sansa"));
+
+        assertThrows(TransformationException.class,
+                () -> results.toTypedList((row, columns) -> row.getString(5)));
+    }
+
+    @Test
+    void testSingleResult() {
+        Results results = new SingleResult(resultSet());
+        assertThat(results.getSingle().getInteger("id"), is(1));
+        assertThat(results.getTypedSingle((row, columns) -> row.getInteger(0)), is(1));
+
+        Results empty = new SingleResult(new ResultSet(asList("id"), emptyList(), null));
+        assertThrows(NoResultException.class, empty::getSingle);
+    }
+}
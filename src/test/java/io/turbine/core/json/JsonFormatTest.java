@@ -0,0 +1,70 @@
+package io.turbine.core.json;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.turbine.core.json.JsonFormat.printJson;
+import static io.turbine.core.json.JsonFormat.writeJson;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+class JsonFormatTest {
+
+    static class Person {
+        public String name;
+        public int age;
+
+        Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+
+    static class Character implements JsonSerializable {
+        @Override
+        public JsonObject toJson() {
+            return new JsonObject().put("house", "Stark");
+        }
+    }
+
+    @Test
+    void testWriteCompact() {
+        assertThat(writeJson(new Person("Arya", 11), false).toString(), is("{\"name\":\"Arya\",\"age\":11}"));
+        assertThat(writeJson(asList(new Character(), new Person("Jon", 17)), false).toString(),
+                is("[{\"house\":\"Stark\"},{\"name\":\"Jon\",\"age\":17}]"));
+        assertThat(writeJson(new JsonArray().add(1).add("two"), false).toString(), is("[1,\"two\"]"));
+        assertThat(writeJson(42, false).toString(), is("42"));
+    }
+
+    @Test
+    void testWriteStringIsEscaped() {
+        assertThat(writeJson("Ned \"the honorable\"", false).toString(), is("\"Ned \\\"the honorable\\\"\""));
+    }
+
+    @Test
+    void testWriteNullIsEmpty() {
+        assertThat(writeJson(null, false).length(), is(0));
+    }
+
+    @Test
+    void testWriteMap() {
+        Map<Integer, String> map = new LinkedHashMap<>();
+        map.put(1, "Robb");
+        map.put(2, "Sansa");
+        assertThat(writeJson(map, false).toString(), is("{\"1\":\"Robb\",\"2\":\"Sansa\"}"));
+    }
+
+    @Test
+    void testPrettyAndCompactAreEquivalent() {
+        JsonObject json = new JsonObject().put("name", "Bran").put("siblings", new JsonArray().add("Rickon"));
+        String pretty = printJson(json, true);
+        assertThat(pretty, containsString("\n"));
+        assertThat(new JsonObject(pretty), is(new JsonObject(printJson(json, false))));
+    }
+}
@@ -0,0 +1,43 @@
+package io.turbine.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+class HistogramTest {
+
+    @Test
+    void testEmpty() {
+        Histogram histogram = new Histogram();
+        assertThat(histogram.count(), is(0L));
+        assertThat(histogram.mean(), is(0.0));
+        assertThat(histogram.percentile(0.99), is(0.0));
+    }
+
+    @Test
+    void testPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(MICROSECONDS.toNanos(100));
+        }
+        histogram.record(MILLISECONDS.toNanos(50));
+
+        assertThat(histogram.count(), is(100L));
+        assertThat(histogram.max(), is(50.0));
+        assertThat(histogram.mean(), closeTo(0.599, 0.001));
+        // Percentiles are bucket upper bounds, at most twice the real value
+        assertThat(histogram.percentile(0.5), allOf(greaterThanOrEqualTo(0.1), lessThanOrEqualTo(0.2)));
+        assertThat(histogram.percentile(1.0), is(50.0));
+
+        histogram.reset();
+        assertThat(histogram.count(), is(0L));
+        assertThat(histogram.max(), is(0.0));
+    }
+}
@@ -0,0 +1,39 @@
+package io.turbine.core.utils;
+
+import io.reactivex.Single;
+import io.reactivex.subjects.SingleSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class SingleFlightTest {
+
+    @Test
+    void testCoalescedCalls() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        SingleSubject<String> pending = SingleSubject.create();
+        AtomicInteger calls = new AtomicInteger();
+
+        Single<String> first = flights.execute("a", () -> { calls.incrementAndGet(); return pending; });
+        Single<String> second = flights.execute("a", () -> { calls.incrementAndGet(); return pending; });
+        Single<String> other = flights.execute("b", () -> { calls.incrementAndGet(); return Single.just("b"); });
+
+        StringBuilder results = new StringBuilder();
+        first.subscribe(results::append);
+        second.subscribe(results::append);
+        assertThat(other.blockingGet(), is("b"));
+        assertThat(calls.get(), is(2));
+        assertThat(flights.size(), is(1));
+
+        pending.onSuccess("a");
+        assertThat(results.toString(), is("aa"));
+        assertThat(flights.size(), is(0));
+
+        // Once terminated, the call is not shared anymore
+        flights.execute("a", () -> { calls.incrementAndGet(); return Single.just("a"); }).blockingGet();
+        assertThat(calls.get(), is(3));
+    }
+}
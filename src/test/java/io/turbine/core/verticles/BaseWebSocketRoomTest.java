@@ -0,0 +1,210 @@
+package io.turbine.core.verticles;
+
+import io.turbine.core.ws.WsConnection;
+import io.turbine.core.ws.impl.MessageImpl;
+import io.turbine.core.ws.impl.WsConnectionImpl;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.WebSocketFrame;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.http.ServerWebSocket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+class BaseWebSocketRoomTest {
+
+    private static class ConfiguredRoom extends BaseWebSocketRoom<String, String, String> {
+
+        ConfiguredRoom() {
+            super(null, "room");
+        }
+
+        @Override
+        protected String parseMessage(JsonObject source) {
+            return source.getString("body");
+        }
+
+        /**
+         * Send messages to the room from its event loop.
+         */
+        void send(WsConnection<String> connection, String... bodies) throws Exception {
+            final CompletableFuture<Void> sent = new CompletableFuture<>();
+            context.runOnContext(v -> {
+                for (String body : bodies) {
+                    messages.onNext(new MessageImpl<>(connection, body));
+                }
+                sent.complete(null);
+            });
+            sent.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static class Room extends ConfiguredRoom {
+
+        @Override
+        protected long batchWindow() {
+            return 200;
+        }
+
+        @Override
+        protected int batchSize() {
+            return 3;
+        }
+    }
+
+    private static class UnbatchedRoom extends Room {
+        @Override
+        protected long batchWindow() {
+            return 0;
+        }
+    }
+
+    private static class SharedFramesRoom extends UnbatchedRoom {
+        @Override
+        protected boolean sharedFrames() {
+            return true;
+        }
+    }
+
+    private final Vertx vertx = Vertx.vertx();
+
+    /**
+     * The text frames written to the client
+     */
+    private final List<String> frames = new CopyOnWriteArrayList<>();
+
+    /**
+     * The number of frames written from a shared frame
+     */
+    private final AtomicInteger sharedFrames = new AtomicInteger();
+
+    private final WsConnectionImpl<String> connection = new WsConnectionImpl<>("alice",
+            ServerWebSocket.newInstance((io.vertx.core.http.ServerWebSocket) Proxy.newProxyInstance(
+                    getClass().getClassLoader(),
+                    new Class<?>[] { io.vertx.core.http.ServerWebSocket.class },
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("writeFinalTextFrame")
+                                || method.getName().equals("writeTextMessage")) {
+                            frames.add((String) args[0]);
+                        } else if (method.getName().equals("writeFrame")) {
+                            sharedFrames.incrementAndGet();
+                            frames.add(((WebSocketFrame) args[0]).textData());
+                        }
+                        return method.getName().equals("writeQueueFull") ? false : proxy;
+                    })));
+
+    @AfterEach
+    void closeVertx() {
+        vertx.close();
+    }
+
+    /**
+     * Deploy a room and connect the client to it.
+     */
+    private <T extends ConfiguredRoom> T deploy(T room, JsonObject config) throws Exception {
+        final CompletableFuture<String> deployed = new CompletableFuture<>();
+        vertx.deployVerticle(room, new DeploymentOptions().setConfig(config), ar -> {
+            if (ar.succeeded()) {
+                deployed.complete(ar.result());
+            } else {
+                deployed.completeExceptionally(ar.cause());
+            }
+        });
+        deployed.get(5, TimeUnit.SECONDS);
+        room.rxConnect(connection).blockingAwait(5, TimeUnit.SECONDS);
+        return room;
+    }
+
+    private void awaitFrames(int count) throws InterruptedException {
+        for (int i = 0; i < 50 && frames.size() < count; i++) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static List<Object> bodies(String frame) {
+        final JsonArray batch = new JsonArray(frame);
+        return batch.stream().map(m -> ((JsonObject) m).getValue("body")).collect(Collectors.toList());
+    }
+
+    @Test
+    void testSendEachMessageWhenBatchingIsDisabled() throws Exception {
+        final Room room = deploy(new UnbatchedRoom(), new JsonObject());
+        room.send(connection, "a", "b");
+
+        awaitFrames(2);
+        assertThat(frames, hasSize(2));
+        assertThat(new JsonObject(frames.get(0)).getString("body"), is("a"));
+        assertThat(sharedFrames.get(), is(0));
+    }
+
+    @Test
+    void testShareFramesWhenEnabled() throws Exception {
+        final Room room = deploy(new SharedFramesRoom(), new JsonObject());
+        room.send(connection, "a", "b");
+
+        awaitFrames(2);
+        assertThat(frames, hasSize(2));
+        assertThat(new JsonObject(frames.get(1)).getString("body"), is("b"));
+        assertThat(sharedFrames.get(), is(2));
+    }
+
+    @Test
+    void testFrameLargePayloadsPerConnection() throws Exception {
+        final Room room = deploy(new SharedFramesRoom(), new JsonObject()
+                .put("websocket", new JsonObject().put("max-frame-size", 1024)));
+        final char[] large = new char[1024];
+        Arrays.fill(large, 'x');
+        room.send(connection, new String(large));
+
+        awaitFrames(1);
+        assertThat(frames, hasSize(1));
+        assertThat(sharedFrames.get(), is(0));
+    }
+
+    @Test
+    void testSendFullBatchesAsOneFrame() throws Exception {
+        final Room room = deploy(new Room(), new JsonObject());
+        room.send(connection, "a", "b", "c", "d");
+
+        awaitFrames(1);
+        assertThat(frames, hasSize(1));
+        assertThat(bodies(frames.get(0)), contains("a", "b", "c"));
+    }
+
+    @Test
+    void testSendPendingMessagesAtTheEndOfTheWindow() throws Exception {
+        final Room room = deploy(new Room(), new JsonObject());
+        room.send(connection, "a");
+
+        awaitFrames(1);
+        assertThat(frames, hasSize(1));
+        assertThat(bodies(frames.get(0)), contains("a"));
+    }
+
+    @Test
+    void testBatchingReadFromConfiguration() throws Exception {
+        final ConfiguredRoom room = deploy(new ConfiguredRoom(), new JsonObject()
+                .put("room", new JsonObject().put("batch-window", 200).put("batch-size", 2)));
+        room.send(connection, "a", "b", "c");
+
+        awaitFrames(2);
+        assertThat(frames, hasSize(2));
+        assertThat(bodies(frames.get(0)), contains("a", "b"));
+        assertThat(bodies(frames.get(1)), contains("c"));
+    }
+}
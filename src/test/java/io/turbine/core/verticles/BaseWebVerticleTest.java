@@ -0,0 +1,138 @@
+package io.turbine.core.verticles;
+
+import io.reactivex.Single;
+import io.turbine.core.deployment.Turbine;
+import io.turbine.core.web.execution.ExecuteOn;
+import io.turbine.core.web.mapping.RequestHandling;
+import io.turbine.core.web.mapping.annotations.Bearer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.MultiMap;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpClient;
+import io.vertx.reactivex.core.http.HttpClientRequest;
+import io.vertx.reactivex.core.http.HttpClientResponse;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BaseWebVerticleTest {
+
+    private static final int PORT = 18190;
+
+    public static class CachingVerticle extends BaseWebVerticle {
+        @RequestHandling(path = "/me", maxAge = 60)
+        public Single<JsonObject> me(RoutingContext rc, @Bearer String token) {
+            return Single.just(new JsonObject().put("token", token));
+        }
+
+        @RequestHandling(path = "/news", maxAge = 60, publicCache = true)
+        public Single<JsonObject> news(RoutingContext rc) {
+            return Single.just(new JsonObject().put("news", "none"));
+        }
+
+        @RequestHandling(path = "/echo", coalesce = true)
+        public Single<JsonObject> echo(RoutingContext rc) {
+            return Single.just(new JsonObject().put("uri", rc.request().uri())).delay(200, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static class ConflictingPoolsVerticle extends BaseWebVerticle {
+        @RequestHandling(path = "/reports", executeOn = ExecuteOn.WORKER, pool = "reports")
+        public Single<JsonObject> reports(RoutingContext rc) {
+            return Single.just(new JsonObject());
+        }
+
+        @RequestHandling(path = "/exports", executeOn = ExecuteOn.VIRTUAL_THREAD, pool = "reports")
+        public Single<JsonObject> exports(RoutingContext rc) {
+            return Single.just(new JsonObject());
+        }
+    }
+
+    private static Vertx vertx;
+
+    private static HttpClient client;
+
+    @BeforeAll
+    static void deploy() {
+        Turbine.getDeployer().deployVerticle(CachingVerticle.class, new JsonObject().put("port", PORT)).blockingGet();
+        vertx = Vertx.vertx();
+        client = vertx.createHttpClient();
+    }
+
+    @AfterAll
+    static void close() {
+        vertx.close();
+    }
+
+    /**
+     * The headers and the body of a response
+     */
+    private static class Reply {
+        final MultiMap headers;
+        final String body;
+
+        Reply(HttpClientResponse response, Buffer body) {
+            this.headers = response.headers();
+            this.body = body.toString();
+        }
+    }
+
+    private static Reply get(String uri, String token) {
+        return request(uri, token).blockingGet();
+    }
+
+    private static Single<Reply> request(String uri, String token) {
+        return Single.<Reply>create(emitter -> {
+            final HttpClientRequest request = client.get(PORT, "localhost", uri)
+                    .handler(response -> response.bodyHandler(body -> emitter.onSuccess(new Reply(response, body))))
+                    .exceptionHandler(emitter::onError);
+            if (token != null) {
+                request.putHeader("Authorization", "Bearer " + token);
+            }
+            request.end();
+        });
+    }
+
+    @Test
+    void testCachedResponsesPerBearer() {
+        final Reply alice = get("/me", "alice");
+        assertThat(alice.body, containsString("alice"));
+        assertThat(alice.headers.get("Cache-Control"), is("private, max-age=60"));
+        assertThat(alice.headers.get("Vary"), containsString("Authorization"));
+
+        assertThat(get("/me", "bob").body, containsString("bob"));
+        assertThat(get("/me", "alice").body, containsString("alice"));
+        assertThat(get("/me", null).body, not(containsString("alice")));
+    }
+
+    @Test
+    void testPublicCachedResponses() {
+        assertThat(get("/news", null).headers.get("Cache-Control"), is("public, max-age=60"));
+    }
+
+    @Test
+    void testCoalesceOnlyRequestsOfTheSameUri() {
+        final Reply[] replies = Single.zip(request("/echo?q=a", null), request("/echo?q=b", null),
+                (a, b) -> new Reply[] { a, b }).blockingGet();
+
+        assertThat(replies[0].body, containsString("q=a"));
+        assertThat(replies[1].body, containsString("q=b"));
+    }
+
+    @Test
+    void testPoolSharedWithAnotherExecutionMode() {
+        assertThrows(Exception.class, () -> Turbine.getDeployer()
+                .deployVerticle(ConflictingPoolsVerticle.class, new JsonObject().put("port", PORT + 1))
+                .blockingGet());
+    }
+}
@@ -0,0 +1,69 @@
+package io.turbine.core.web.admission;
+
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.SingleSubject;
+import io.turbine.core.errors.exceptions.http.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class AdmissionControllerTest {
+
+    private final AdmissionController admission = new AdmissionController("GET /test", 1, 1, 2);
+
+    @Test
+    void testQueueAndReject() {
+        final SingleSubject<String> first = SingleSubject.create();
+        final TestObserver<String> firstObserver = admission.admit(first, () -> false).test();
+        final TestObserver<String> secondObserver = admission.admit(Single.just("second"), () -> false).test();
+        final TestObserver<String> thirdObserver = admission.admit(Single.just("third"), () -> false).test();
+
+        assertThat(admission.inFlight(), is(1));
+        assertThat(admission.queued(), is(1));
+        secondObserver.assertNoValues();
+        thirdObserver.assertError(ServiceUnavailableException.class);
+        final ServiceUnavailableException rejection = (ServiceUnavailableException) thirdObserver.errors().get(0);
+        assertThat(rejection.getRetryAfter(), is(2));
+        assertThat(rejection.headers().get("Retry-After"), is("2"));
+
+        first.onSuccess("first");
+        firstObserver.assertValue("first");
+        secondObserver.assertValue("second");
+        assertThat(admission.inFlight(), is(0));
+        assertThat(admission.queued(), is(0));
+        assertThat(admission.admitted(), is(2L));
+        assertThat(admission.rejected(), is(1L));
+    }
+
+    @Test
+    void testAbandonedAndCancelled() {
+        final SingleSubject<String> first = SingleSubject.create();
+        final AdmissionController admission = new AdmissionController("GET /test", 1, 2, 1);
+        admission.admit(first, () -> false).test();
+        final TestObserver<String> abandoned = admission.admit(Single.just("gone"), () -> true).test();
+        final TestObserver<String> cancelled = admission.admit(Single.just("cancelled"), () -> false).test();
+
+        cancelled.dispose();
+        assertThat(admission.queued(), is(1));
+
+        first.onSuccess("first");
+        abandoned.assertNoValues();
+        assertThat(admission.abandoned(), is(1L));
+        assertThat(admission.inFlight(), is(0));
+    }
+
+    @Test
+    void testSynchronousCompletions() {
+        final SingleSubject<String> first = SingleSubject.create();
+        final AdmissionController admission = new AdmissionController("GET /test", 1, 10_000, 1);
+        admission.admit(first, () -> false).test();
+        for (int i = 0; i < 10_000; i++) {
+            admission.admit(Single.just(i), () -> false).subscribe();
+        }
+        first.onSuccess("first");
+        assertThat(admission.admitted(), is(10_001L));
+        assertThat(admission.inFlight(), is(0));
+    }
+}
@@ -0,0 +1,89 @@
+package io.turbine.core.web.admission;
+
+import io.reactivex.subjects.SingleSubject;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+class VegasLimitTest {
+
+    private static final long RTT = 10_000_000L;
+
+    @Test
+    void testGrowsWithoutContention() {
+        final VegasLimit limit = new VegasLimit(10, 1, 100);
+        limit.onSample(RTT, 10, false);
+        assertThat(limit.rttNoLoad(), is(RTT));
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT, limit.limit(), false);
+        }
+        assertThat(limit.limit(), is(100));
+    }
+
+    @Test
+    void testShrinksUnderContention() {
+        final VegasLimit limit = new VegasLimit(50, 1, 100);
+        limit.onSample(RTT, 50, false);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT * 4, limit.limit(), false);
+        }
+        assertThat(limit.limit(), lessThan(50));
+    }
+
+    @Test
+    void testIgnoresIdleSamples() {
+        final VegasLimit limit = new VegasLimit(50, 1, 100);
+        limit.onSample(RTT, 50, false);
+        limit.onSample(RTT * 4, 2, false);
+        assertThat(limit.limit(), is(50));
+    }
+
+    @Test
+    void testShrinksOnDrops() {
+        final VegasLimit limit = new VegasLimit(50, 10, 100);
+        limit.onSample(RTT, 50, false);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, 1, true);
+        }
+        assertThat(limit.limit(), is(10));
+    }
+
+    @Test
+    void testAdmissionFollowsLimit() {
+        final int[] current = {1};
+        final Limit limit = new Limit() {
+            @Override
+            public int limit() {
+                return current[0];
+            }
+
+            @Override
+            public void onSample(long rtt, int inFlight, boolean dropped) {
+                current[0] = 3;
+            }
+
+            @Override
+            public JsonObject toJson() {
+                return new JsonObject();
+            }
+        };
+        final AdmissionController admission = new AdmissionController("GET /test", limit, 10, 1);
+        final SingleSubject<Integer> first = SingleSubject.create();
+
+        admission.admit(first, () -> false).test();
+        admission.admit(SingleSubject.<Integer>create(), () -> false).test();
+        admission.admit(SingleSubject.<Integer>create(), () -> false).test();
+        assertThat(admission.inFlight(), is(1));
+        assertThat(admission.queued(), is(2));
+
+        /* The raised limit lets both queued requests in */
+        first.onSuccess(1);
+        assertThat(admission.latencies().count(), is(1L));
+        assertThat(admission.inFlight(), is(2));
+        assertThat(admission.queued(), is(0));
+    }
+}
@@ -0,0 +1,32 @@
+package io.turbine.core.web.cache;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+class CachedResponseTest {
+
+    private final CachedResponse response =
+            new CachedResponse(Buffer.buffer("{\"id\":1}"), "application/json", System.nanoTime() + 1_000_000_000L);
+
+    @Test
+    void testEtag() {
+        assertThat(response.etag(), is(CachedResponse.etagOf(Buffer.buffer("{\"id\":1}"))));
+        assertThat(response.etag(), not(CachedResponse.etagOf(Buffer.buffer("{\"id\":2}"))));
+        assertThat(response.remainingSeconds(System.nanoTime()), is(1L));
+    }
+
+    @Test
+    void testConditionalHeaders() {
+        assertThat(response.isNotModified(response.etag(), null), is(true));
+        assertThat(response.isNotModified("\"other\", W/" + response.etag(), null), is(true));
+        assertThat(response.isNotModified("\"other\"", response.lastModifiedHeader()), is(false));
+        assertThat(response.isNotModified(null, response.lastModifiedHeader()), is(true));
+        assertThat(response.isNotModified(null, "Thu, 01 Jan 1970 00:00:00 GMT"), is(false));
+        assertThat(response.isNotModified(null, "yesterday"), is(false));
+        assertThat(response.isNotModified(null, null), is(false));
+    }
+}
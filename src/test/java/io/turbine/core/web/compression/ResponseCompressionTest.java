@@ -0,0 +1,73 @@
+package io.turbine.core.web.compression;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static io.turbine.core.web.compression.ResponseCompression.DEFLATE;
+import static io.turbine.core.web.compression.ResponseCompression.GZIP;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+class ResponseCompressionTest {
+
+    private static final String JSON = "application/json";
+
+    private final ResponseCompression compression =
+            new ResponseCompression(true, 6, 100, Arrays.asList(JSON, "text/plain"));
+
+    @Test
+    void testCompressible() {
+        assertThat(compression.isCompressible(JSON, 100), is(true));
+        assertThat(compression.isCompressible("text/plain; charset=utf-8", 500), is(true));
+        assertThat(compression.isCompressible(JSON, 99), is(false));
+        assertThat(compression.isCompressible("image/png", 500), is(false));
+        assertThat(compression.isCompressible(null, 500), is(false));
+        assertThat(ResponseCompression.disabled().isCompressible(JSON, 500), is(false));
+    }
+
+    @Test
+    void testNegotiate() {
+        assertThat(compression.negotiate("gzip, deflate", JSON, 500), is(GZIP));
+        assertThat(compression.negotiate("deflate, gzip;q=0.5", JSON, 500), is(DEFLATE));
+        assertThat(compression.negotiate("br, *;q=0.1", JSON, 500), is(GZIP));
+        assertThat(compression.negotiate("*, gzip;q=0", JSON, 500), is(DEFLATE));
+        assertThat(compression.negotiate("identity", JSON, 500), nullValue());
+        assertThat(compression.negotiate(null, JSON, 500), nullValue());
+        assertThat(compression.negotiate("gzip", JSON, 10), nullValue());
+    }
+
+    @Test
+    void testCompress() throws IOException {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            json.append("{\"id\":").append(i).append("},");
+        }
+        final Buffer body = Buffer.buffer(json.append("{}]").toString());
+
+        final Buffer gzipped = compression.compress(body, GZIP);
+        assertThat(gzipped.length(), lessThan(body.length()));
+        assertThat(inflate(new GZIPInputStream(new ByteArrayInputStream(gzipped.getBytes()))), is(body));
+
+        final Buffer deflated = compression.compress(body, DEFLATE);
+        assertThat(inflate(new InflaterInputStream(new ByteArrayInputStream(deflated.getBytes()))), is(body));
+    }
+
+    private static Buffer inflate(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[1024];
+        for (int read; (read = in.read(chunk)) > 0; ) {
+            out.write(chunk, 0, read);
+        }
+        return Buffer.buffer(out.toByteArray());
+    }
+}
@@ -0,0 +1,91 @@
+package io.turbine.core.web.execution;
+
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.turbine.core.errors.exceptions.http.ServiceUnavailableException;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExecutionPoolTest {
+
+    private final Vertx vertx = Vertx.vertx();
+
+    @AfterEach
+    void close() {
+        vertx.close();
+    }
+
+    @Test
+    void testQueueLimit() throws InterruptedException {
+        final ExecutionPool pool = ExecutionPool.worker(vertx, "test-pool", 1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final TestObserver<String> first = pool.execute(() -> {
+            release.await();
+            return Single.just("first");
+        }).test();
+        final TestObserver<String> second = pool.execute(() -> Single.just("second")).test();
+        final TestObserver<String> third = pool.execute(() -> Single.just("third")).test();
+
+        third.assertError(ServiceUnavailableException.class);
+        assertThat(pool.rejected(), is(1L));
+
+        release.countDown();
+        first.awaitDone(5, TimeUnit.SECONDS).assertValue("first");
+        second.awaitDone(5, TimeUnit.SECONDS).assertValue("second");
+        assertThat(pool.waits().count(), is(2L));
+        assertThat(pool.queued(), is(0));
+        assertThat(pool.active(), is(0));
+    }
+
+    @Test
+    void testFailure() {
+        final ExecutionPool pool = ExecutionPool.worker(vertx, "test-pool", 2, 0);
+        pool.<String>execute(() -> { throw new IllegalStateException("blocking failure"); })
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(IllegalStateException.class);
+    }
+
+    @Test
+    void testVirtualThreadsConcurrencyLimit() throws InterruptedException {
+        final ExecutionPool pool = ExecutionPool.virtualThreads("test-virtual", 2, 10);
+        assumeTrue(pool != null, "Virtual threads are not supported by this JVM");
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger deepest = new AtomicInteger();
+        final TestObserver<?>[] calls = new TestObserver<?>[5];
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = pool.execute(() -> {
+                deepest.accumulateAndGet(running.incrementAndGet(), Math::max);
+                release.await();
+                running.decrementAndGet();
+                return Single.just("done");
+            }).test();
+        }
+
+        for (int i = 0; i < 100 && pool.active() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(pool.active(), is(2));
+        assertThat(pool.queued(), is(3));
+
+        release.countDown();
+        for (TestObserver<?> call : calls) {
+            call.awaitDone(5, TimeUnit.SECONDS).assertComplete();
+        }
+        assertThat(deepest.get(), is(2));
+        assertThat(pool.queued(), is(0));
+        pool.close();
+    }
+}
@@ -0,0 +1,86 @@
+package io.turbine.core.web.handlers;
+
+import io.reactivex.processors.PublishProcessor;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServerResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+class ChunkedResponseWriterTest {
+
+    private final Vertx vertx = Vertx.vertx();
+
+    private final Context context = vertx.getOrCreateContext();
+
+    /**
+     * The chunks written to the response
+     */
+    private final List<String> chunks = new CopyOnWriteArrayList<>();
+
+    private final HttpServerResponse response = HttpServerResponse.newInstance(
+            (io.vertx.core.http.HttpServerResponse) Proxy.newProxyInstance(
+                    getClass().getClassLoader(),
+                    new Class<?>[] { io.vertx.core.http.HttpServerResponse.class },
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("write") && args[0] instanceof Buffer) {
+                            chunks.add(args[0].toString());
+                        }
+                        return method.getName().equals("writeQueueFull") ? false : proxy;
+                    }));
+
+    private final PublishProcessor<Object> items = PublishProcessor.create();
+
+    @AfterEach
+    void closeVertx() {
+        vertx.close();
+    }
+
+    /**
+     * Run a task on the response context, and wait until the tasks it has scheduled are over.
+     */
+    private void onContext(Runnable task) throws Exception {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        context.runOnContext(v -> {
+            task.run();
+            context.runOnContext(w -> done.complete(null));
+        });
+        done.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testFlushesEachItemOfSlowSource() throws Exception {
+        onContext(() -> items.subscribe(new ChunkedResponseWriter(response, StreamFormat.NDJSON, t -> {})));
+
+        onContext(() -> items.onNext(1));
+        assertThat(chunks, contains("1"));
+
+        onContext(() -> items.onNext(2));
+        assertThat(chunks, contains("1", "\n2"));
+    }
+
+    @Test
+    void testGathersItemsReceivedInRow() throws Exception {
+        onContext(() -> items.subscribe(new ChunkedResponseWriter(response, StreamFormat.NDJSON, t -> {})));
+
+        onContext(() -> {
+            items.onNext(1);
+            items.onNext(2);
+            items.onNext(3);
+        });
+        assertThat(chunks, contains("1\n2\n3"));
+
+        onContext(items::onComplete);
+        assertThat(chunks, contains("1\n2\n3", "\n"));
+    }
+}
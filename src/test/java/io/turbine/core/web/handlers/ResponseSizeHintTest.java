@@ -0,0 +1,49 @@
+package io.turbine.core.web.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+class ResponseSizeHintTest {
+
+    private static ResponseSizeHint settled(int size) {
+        final ResponseSizeHint hint = new ResponseSizeHint();
+        for (int i = 0; i < 20; i++) {
+            hint.record(size);
+        }
+        return hint;
+    }
+
+    @Test
+    void testFollowsSteadySizes() {
+        assertThat(settled(2000).get(), allOf(greaterThanOrEqualTo(2000), lessThan(2500)));
+    }
+
+    @Test
+    void testSingleLargeResponse() {
+        final ResponseSizeHint hint = settled(1000);
+        hint.record(3 * 1024 * 1024);
+        assertThat(hint.get(), lessThan(2500));
+
+        hint.record(1000);
+        assertThat(hint.get(), lessThan(2000));
+    }
+
+    @Test
+    void testCappedWellBelowLargeResponses() {
+        assertThat(settled(3 * 1024 * 1024).get(), is(ResponseSizeHint.MAX_SIZE));
+    }
+
+    @Test
+    void testDropsQuicklyTowardSmallResponses() {
+        final ResponseSizeHint hint = settled(60 * 1024);
+        for (int i = 0; i < 6; i++) {
+            hint.record(500);
+        }
+        assertThat(hint.get(), lessThan(2048));
+    }
+}
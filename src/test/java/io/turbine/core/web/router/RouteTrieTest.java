@@ -0,0 +1,68 @@
+package io.turbine.core.web.router;
+
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RouteTrieTest {
+
+    private final RouteTrie<String> trie = new RouteTrie<>();
+
+    RouteTrieTest() {
+        trie.add(HttpMethod.GET, "/", "root");
+        trie.add(HttpMethod.GET, "/items", "items");
+        trie.add(HttpMethod.GET, "/items/:id", "item");
+        trie.add(HttpMethod.GET, "/items/new", "newItem");
+        trie.add(HttpMethod.GET, "/items/:id/tags/:tag", "tag");
+        trie.add(HttpMethod.GET, "/users/:name/items", "userItems");
+        trie.add(HttpMethod.GET, "/static/*", "static");
+        trie.add(HttpMethod.POST, "/items", "createItem");
+    }
+
+    @Test
+    void testStaticRoutes() {
+        assertThat(trie.lookup(HttpMethod.GET, "/").handler(), is("root"));
+        assertThat(trie.lookup(HttpMethod.GET, "/items").handler(), is("items"));
+        assertThat(trie.lookup(HttpMethod.GET, "/items/").handler(), is("items"));
+        assertThat(trie.lookup(HttpMethod.POST, "/items").handler(), is("createItem"));
+        assertThat(trie.lookup(HttpMethod.GET, "/items").params().isEmpty(), is(true));
+        assertThat(trie.lookup(HttpMethod.DELETE, "/items"), nullValue());
+        assertThat(trie.lookup(HttpMethod.GET, "/unknown"), nullValue());
+        assertThat(trie.size(), is(8));
+    }
+
+    @Test
+    void testParameters() {
+        assertThat(trie.lookup(HttpMethod.GET, "/items/new").handler(), is("newItem"));
+
+        RouteTrie.Match<String> match = trie.lookup(HttpMethod.GET, "/items/42");
+        assertThat(match.handler(), is("item"));
+        assertThat(match.params().get("id"), is("42"));
+
+        match = trie.lookup(HttpMethod.GET, "/items/a%20b/tags/c+d");
+        assertThat(match.handler(), is("tag"));
+        assertThat(match.params().get("id"), is("a b"));
+        assertThat(match.params().get("tag"), is("c+d"));
+
+        match = trie.lookup(HttpMethod.GET, "/users/bob/items");
+        assertThat(match.handler(), is("userItems"));
+        assertThat(match.params().get("name"), is("bob"));
+
+        assertThat(trie.lookup(HttpMethod.GET, "/items/42/other"), nullValue());
+    }
+
+    @Test
+    void testWildcard() {
+        assertThat(trie.lookup(HttpMethod.GET, "/static/css/main.css").handler(), is("static"));
+        assertThat(trie.lookup(HttpMethod.GET, "/static").handler(), is("static"));
+    }
+
+    @Test
+    void testDuplicate() {
+        assertThrows(IllegalArgumentException.class, () -> trie.add(HttpMethod.GET, "/items/:id/", "other"));
+    }
+}
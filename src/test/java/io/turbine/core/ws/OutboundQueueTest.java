@@ -0,0 +1,168 @@
+package io.turbine.core.ws;
+
+import io.vertx.core.Handler;
+import io.vertx.reactivex.core.http.ServerWebSocket;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+class OutboundQueueTest {
+
+    /**
+     * A WebSocket recording the written texts, whose write queue is full on demand
+     */
+    private final List<String> written = new ArrayList<>();
+    private boolean full;
+    private Handler<Void> drainHandler;
+    private Short closeStatus;
+    private boolean socketClosed;
+    private boolean drainsOnRegistration;
+
+    @SuppressWarnings("unchecked")
+    private final ServerWebSocket webSocket = ServerWebSocket.newInstance(
+            (io.vertx.core.http.ServerWebSocket) Proxy.newProxyInstance(
+                    getClass().getClassLoader(),
+                    new Class<?>[] { io.vertx.core.http.ServerWebSocket.class },
+                    (proxy, method, args) -> {
+                        if (socketClosed && !method.getName().equals("close")) {
+                            throw new IllegalStateException("WebSocket is closed");
+                        }
+                        switch (method.getName()) {
+                            case "writeQueueFull":
+                                return full;
+                            case "writeFinalTextFrame":
+                                written.add((String) args[0]);
+                                return proxy;
+                            case "drainHandler":
+                                drainHandler = (Handler<Void>) args[0];
+                                if (drainsOnRegistration) {
+                                    full = false;
+                                }
+                                return proxy;
+                            case "close":
+                                closeStatus = (Short) args[0];
+                                return null;
+                            default:
+                                return null;
+                        }
+                    }));
+
+    private void drain() {
+        full = false;
+        drainHandler.handle(null);
+    }
+
+    private OutboundQueue offerAll(SlowConsumerPolicy policy, String... texts) {
+        final OutboundQueue queue = new OutboundQueue(webSocket, 2, policy);
+        for (String text : texts) {
+            queue.offer(OutboundMessage.text(text));
+        }
+        return queue;
+    }
+
+    @Test
+    void testWriteDirectlyWhileTheSocketIsWritable() {
+        final OutboundQueue queue = offerAll(SlowConsumerPolicy.DROP_OLDEST, "a", "b", "c");
+
+        assertThat(written, contains("a", "b", "c"));
+        assertThat(queue.depth(), is(0));
+        assertThat(queue.sent(), is(3L));
+    }
+
+    @Test
+    void testQueueUntilTheSocketDrains() {
+        full = true;
+        final OutboundQueue queue = offerAll(SlowConsumerPolicy.DROP_OLDEST, "a", "b");
+
+        assertThat(written, is(empty()));
+        assertThat(queue.depth(), is(2));
+
+        drain();
+        assertThat(written, contains("a", "b"));
+        assertThat(queue.depth(), is(0));
+        assertThat(queue.maxDepth(), is(2));
+    }
+
+    @Test
+    void testDropOldest() {
+        full = true;
+        final OutboundQueue queue = offerAll(SlowConsumerPolicy.DROP_OLDEST, "a", "b", "c", "d");
+        drain();
+
+        assertThat(written, contains("c", "d"));
+        assertThat(queue.dropped(), is(2L));
+    }
+
+    @Test
+    void testDropNewest() {
+        full = true;
+        final OutboundQueue queue = offerAll(SlowConsumerPolicy.DROP_NEWEST, "a", "b", "c", "d");
+        drain();
+
+        assertThat(written, contains("a", "b"));
+        assertThat(queue.dropped(), is(2L));
+    }
+
+    @Test
+    void testCoalesceToTheLatestMessage() {
+        full = true;
+        final OutboundQueue queue = offerAll(SlowConsumerPolicy.COALESCE, "a", "b", "c");
+        drain();
+
+        assertThat(written, contains("c"));
+        assertThat(queue.dropped(), is(2L));
+    }
+
+    @Test
+    void testDisconnectSlowConsumers() {
+        full = true;
+        final OutboundQueue queue = offerAll(SlowConsumerPolicy.DISCONNECT, "a", "b", "c", "d");
+
+        assertThat(closeStatus, is((short) 1008));
+        assertThat(queue.isClosed(), is(true));
+        assertThat(queue.depth(), is(0));
+        assertThat(queue.dropped(), is(3L));
+    }
+
+    @Test
+    void testDropMessagesOnceTheSocketIsClosed() {
+        final OutboundQueue queue = offerAll(SlowConsumerPolicy.DROP_OLDEST, "a");
+        socketClosed = true;
+
+        assertThat(queue.offer(OutboundMessage.text("b")), is(false));
+        assertThat(queue.isClosed(), is(true));
+        assertThat(queue.dropped(), is(1L));
+        assertThat(queue.offer(OutboundMessage.text("c")), is(false));
+        assertThat(written, contains("a"));
+    }
+
+    @Test
+    void testDropQueuedMessagesWhenTheSocketClosesBeforeDraining() {
+        full = true;
+        final OutboundQueue queue = offerAll(SlowConsumerPolicy.DROP_OLDEST, "a", "b");
+        socketClosed = true;
+        drainHandler.handle(null);
+
+        assertThat(written, is(empty()));
+        assertThat(queue.isClosed(), is(true));
+        assertThat(queue.depth(), is(0));
+        assertThat(queue.dropped(), is(2L));
+    }
+
+    @Test
+    void testFlushWhenTheSocketDrainsBeforeTheHandlerIsSet() {
+        full = true;
+        drainsOnRegistration = true;
+        final OutboundQueue queue = offerAll(SlowConsumerPolicy.DROP_OLDEST, "a");
+
+        assertThat(written, contains("a"));
+        assertThat(queue.depth(), is(0));
+    }
+}
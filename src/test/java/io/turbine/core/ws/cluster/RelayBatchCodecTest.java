@@ -0,0 +1,40 @@
+package io.turbine.core.ws.cluster;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+class RelayBatchCodecTest {
+
+    private final RelayBatchCodec codec = new RelayBatchCodec();
+
+    @Test
+    void testEncodeAndDecode() {
+        final RelayBatch batch = new RelayBatch("node-é")
+                .add("lobby", Buffer.buffer("{\"body\":\"hello\"}"))
+                .add("kitchen", Buffer.buffer("{\"body\":\"crème brûlée\"}"))
+                .add("lobby", Buffer.buffer("{\"body\":\"bye\"}"));
+
+        /* The message is decoded from an offset, after the headers of the event bus */
+        final Buffer wire = Buffer.buffer("headers");
+        codec.encodeToWire(wire, batch);
+        final RelayBatch decoded = codec.decodeFromWire("headers".length(), wire);
+
+        assertThat(decoded.origin(), is("node-é"));
+        assertThat(decoded.size(), is(3));
+        assertThat(decoded.room(1), is("kitchen"));
+        assertThat(decoded.payload(1).toString(), is("{\"body\":\"crème brûlée\"}"));
+        assertThat(decoded.byRoom().keySet(), contains("lobby", "kitchen"));
+        assertThat(decoded.byRoom().get("lobby").get(1).toString(), is("{\"body\":\"bye\"}"));
+    }
+
+    @Test
+    void testEmptyBatch() {
+        final Buffer wire = Buffer.buffer();
+        codec.encodeToWire(wire, new RelayBatch("node"));
+        assertThat(codec.decodeFromWire(0, wire).size(), is(0));
+    }
+}
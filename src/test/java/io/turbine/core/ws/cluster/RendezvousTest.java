@@ -0,0 +1,53 @@
+package io.turbine.core.ws.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class RendezvousTest {
+
+    private final List<String> nodes = Arrays.asList("node-a", "node-b", "node-c", "node-d");
+
+    @Test
+    void testIndependentOfTheNodesOrder() {
+        final List<String> reversed = Arrays.asList("node-d", "node-c", "node-b", "node-a");
+        for (int i = 0; i < 100; i++) {
+            assertThat(Rendezvous.owner("room-" + i, reversed), is(Rendezvous.owner("room-" + i, nodes)));
+        }
+    }
+
+    @Test
+    void testKeysSpread() {
+        final Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < 4000; i++) {
+            owned.merge(Rendezvous.owner("room-" + i, nodes), 1, Integer::sum);
+        }
+        for (String node : nodes) {
+            assertThat(owned.get(node), greaterThan(700));
+        }
+    }
+
+    @Test
+    void testOnlyKeysOfTheLeavingNodeMove() {
+        final List<String> remaining = Arrays.asList("node-a", "node-b", "node-d");
+        for (int i = 0; i < 1000; i++) {
+            final String owner = Rendezvous.owner("room-" + i, nodes);
+            if (!owner.equals("node-c")) {
+                assertThat(Rendezvous.owner("room-" + i, remaining), is(owner));
+            }
+        }
+    }
+
+    @Test
+    void testNoOwnerWithoutNodes() {
+        assertThat(Rendezvous.owner("room", Arrays.asList()), is(nullValue()));
+    }
+}
@@ -0,0 +1,134 @@
+package io.turbine.core.ws.cluster;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * The nodes of the cluster are simulated by several relays sharing the event bus
+ * of a single Vert.x instance.
+ */
+class RoomRelayTest {
+
+    private Vertx vertx;
+
+    private RoomRelay a, b, c;
+
+    /**
+     * The batches of messages delivered to each node
+     */
+    private final List<List<String>> deliveredToA = new CopyOnWriteArrayList<>();
+    private final List<List<String>> deliveredToB = new CopyOnWriteArrayList<>();
+    private final List<List<String>> deliveredToC = new CopyOnWriteArrayList<>();
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean(), is(true));
+    }
+
+    private static void subscribe(RoomRelay relay, List<List<String>> delivered) {
+        relay.subscribe("lobby", payloads -> delivered.add(
+                payloads.stream().map(Buffer::toString).collect(Collectors.toList())));
+    }
+
+    private RoomRelay relay(String node) {
+        final RoomRelay relay = new RoomRelay(vertx, node, 50, 100, 100);
+        relay.join();
+        return relay;
+    }
+
+    @BeforeEach
+    void joinNodes() throws InterruptedException {
+        vertx = Vertx.vertx();
+        a = relay("node-a");
+        b = relay("node-b");
+        c = relay("node-c");
+        await(() -> a.nodes().size() == 3 && b.nodes().size() == 3 && c.nodes().size() == 3);
+
+        subscribe(a, deliveredToA);
+        subscribe(b, deliveredToB);
+        subscribe(c, deliveredToC);
+        /* Let the subscriptions reach the owner of the room */
+        Thread.sleep(100);
+    }
+
+    @AfterEach
+    void closeVertx() {
+        vertx.close();
+    }
+
+    @Test
+    void testOwnerAgreement() {
+        assertThat(b.owner("lobby"), is(a.owner("lobby")));
+        assertThat(c.owner("lobby"), is(a.owner("lobby")));
+    }
+
+    @Test
+    void testRelayToTheOtherNodes() throws InterruptedException {
+        a.send("lobby", Buffer.buffer("1"));
+
+        await(() -> deliveredToB.size() == 1 && deliveredToC.size() == 1);
+        assertThat(deliveredToB.get(0), contains("1"));
+        assertThat(deliveredToC.get(0), contains("1"));
+        assertThat(deliveredToA, is(empty()));
+    }
+
+    @Test
+    void testBatching() throws InterruptedException {
+        b.send("lobby", Buffer.buffer("1"));
+        b.send("lobby", Buffer.buffer("2"));
+        b.send("lobby", Buffer.buffer("3"));
+
+        await(() -> deliveredToA.size() == 1 && deliveredToC.size() == 1);
+        assertThat(deliveredToA.get(0), contains("1", "2", "3"));
+        assertThat(deliveredToC.get(0), contains("1", "2", "3"));
+    }
+
+    @Test
+    void testNoRelayToUnsubscribedNodes() throws InterruptedException {
+        c.unsubscribe("lobby");
+        Thread.sleep(100);
+        a.send("lobby", Buffer.buffer("1"));
+
+        await(() -> deliveredToB.size() == 1);
+        Thread.sleep(100);
+        assertThat(deliveredToC, is(empty()));
+    }
+
+    @Test
+    void testRelayAfterTheOwnerLeft() throws InterruptedException {
+        final String owner = a.owner("lobby");
+        final List<RoomRelay> relays = new CopyOnWriteArrayList<>();
+        for (RoomRelay relay : new RoomRelay[] { a, b, c }) {
+            if (relay.node().equals(owner)) {
+                relay.leave();
+            } else {
+                relays.add(relay);
+            }
+        }
+        await(() -> relays.get(0).nodes().size() == 2 && relays.get(1).nodes().size() == 2);
+        Thread.sleep(100);
+
+        relays.get(0).send("lobby", Buffer.buffer("1"));
+        final List<List<String>> delivered = relays.get(1) == a ? deliveredToA
+                : relays.get(1) == b ? deliveredToB : deliveredToC;
+        await(() -> delivered.size() == 1);
+        assertThat(delivered, hasSize(1));
+        assertThat(delivered.get(0), contains("1"));
+    }
+}
@@ -0,0 +1,56 @@
+package io.turbine.core.ws.impl;
+
+import io.turbine.core.ws.Message;
+import io.turbine.core.ws.OutboundQueue;
+import io.turbine.core.ws.WsConnection;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.http.ServerWebSocket;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+class MessageImplTest {
+
+    private final WsConnection<String> connection = new WsConnection<String>() {
+        @Override
+        public String sender() {
+            return "alice";
+        }
+
+        @Override
+        public ServerWebSocket webSocket() {
+            return null;
+        }
+
+        @Override
+        public Instant openingTime() {
+            return Instant.EPOCH;
+        }
+
+        @Override
+        public Instant lastActivityTime() {
+            return Instant.EPOCH;
+        }
+
+        @Override
+        public OutboundQueue outbound() {
+            return null;
+        }
+    };
+
+    @Test
+    void testSerializedOnce() {
+        final Message<String, String> message = new MessageImpl<>(connection, "hello");
+
+        assertThat(message.toJson(), sameInstance(message.toJson()));
+        assertThat(message.toBuffer(), sameInstance(message.toBuffer()));
+
+        final JsonObject decoded = new JsonObject(message.toBuffer());
+        assertThat(decoded.getString("sender"), is("alice"));
+        assertThat(decoded.getString("body"), is("hello"));
+    }
+}